@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.local;
+
+import android.arch.persistence.db.SupportSQLiteDatabase;
+import android.arch.persistence.db.framework.FrameworkSQLiteOpenHelperFactory;
+import android.arch.persistence.room.Room;
+import android.arch.persistence.room.testing.MigrationTestHelper;
+import android.database.Cursor;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.util.Constants;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Migrates databases of the exported schemas and checks the migrated rows.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieAppDatabaseMigrationTest {
+    private static final String TEST_DB = "MovieAppDatabaseMigrationTest.db";
+
+    @Rule
+    public MigrationTestHelper mHelper = new MigrationTestHelper(InstrumentationRegistry.getInstrumentation(),
+            MovieAppDatabase.class.getCanonicalName(), new FrameworkSQLiteOpenHelperFactory());
+
+    @Test
+    public void migrate2To3_ranksTheSavedMoviesInTheirSavingOrder() throws IOException {
+        SupportSQLiteDatabase db = mHelper.createDatabase(TEST_DB, 2);
+        insertMovie(db, 5, 500, Constants.PAGE_POPULAR, Constants.FAVORITE_NOT_ACTIVE);
+        insertMovie(db, 2, 200, Constants.PAGE_POPULAR, Constants.FAVORITE_NOT_ACTIVE);
+        insertMovie(db, 9, 900, Constants.PAGE_POPULAR, Constants.FAVORITE_ACTIVE);
+        insertMovie(db, 7, 700, Constants.PAGE_TOP_RATED, Constants.FAVORITE_NOT_ACTIVE);
+        insertMovie(db, 3, 300, Constants.PAGE_TOP_RATED, Constants.FAVORITE_NOT_ACTIVE);
+        // A saved movie of another type isn't a member of any list.
+        insertMovie(db, 8, 800, "favorite", Constants.FAVORITE_ACTIVE);
+        db.close();
+
+        db = mHelper.runMigrationsAndValidate(TEST_DB, 3, true, MovieAppDatabase.MIGRATION_2_3);
+
+        assertEquals(Arrays.asList(
+                Constants.PAGE_POPULAR + ":200:2", Constants.PAGE_POPULAR + ":500:5",
+                Constants.PAGE_POPULAR + ":900:9", Constants.PAGE_TOP_RATED + ":300:3",
+                Constants.PAGE_TOP_RATED + ":700:7"), selectMemberships(db));
+    }
+
+    @Test
+    public void migrate1To3_keepsTheSavedMoviesInTheirLists() throws IOException {
+        SupportSQLiteDatabase db = mHelper.createDatabase(TEST_DB, 1);
+        insertMovie(db, 2, 200, Constants.PAGE_POPULAR, Constants.FAVORITE_NOT_ACTIVE);
+        insertMovie(db, 1, 100, Constants.PAGE_POPULAR, Constants.FAVORITE_ACTIVE);
+        insertMovie(db, 3, 300, Constants.PAGE_TOP_RATED, Constants.FAVORITE_NOT_ACTIVE);
+        db.close();
+
+        db = mHelper.runMigrationsAndValidate(TEST_DB, 3, true,
+                MovieAppDatabase.MIGRATION_1_2, MovieAppDatabase.MIGRATION_2_3);
+
+        // No paging state is saved yet, the lists are loaded again from their first page.
+        Cursor pages = db.query("SELECT COUNT(*) FROM movie_pages");
+        try {
+            pages.moveToFirst();
+            assertEquals(0, pages.getInt(0));
+        } finally {
+            pages.close();
+        }
+        assertEquals(Arrays.asList(Constants.PAGE_POPULAR + ":100:1", Constants.PAGE_POPULAR + ":200:2",
+                Constants.PAGE_TOP_RATED + ":300:3"), selectMemberships(db));
+    }
+
+    @Test
+    public void migrate2To3_keepsTheListsReadableByTheDao() throws IOException {
+        SupportSQLiteDatabase db = mHelper.createDatabase(TEST_DB, 2);
+        insertMovie(db, 2, 200, Constants.PAGE_POPULAR, Constants.FAVORITE_NOT_ACTIVE);
+        insertMovie(db, 1, 100, Constants.PAGE_POPULAR, Constants.FAVORITE_ACTIVE);
+        insertMovie(db, 3, 300, Constants.PAGE_TOP_RATED, Constants.FAVORITE_NOT_ACTIVE);
+        db.close();
+
+        MovieAppDatabase database = Room.databaseBuilder(InstrumentationRegistry.getTargetContext(),
+                MovieAppDatabase.class, TEST_DB)
+                .addMigrations(MovieAppDatabase.MIGRATION_1_2, MovieAppDatabase.MIGRATION_2_3)
+                .build();
+        mHelper.closeWhenFinished(database);
+        MovieDAO movieDAO = database.movieDAO();
+
+        List<Integer> popular = new ArrayList<>();
+        for (Movie movie : movieDAO.selectListMovies(Constants.PAGE_POPULAR))
+            popular.add(movie.getMovieId());
+        assertEquals(Arrays.asList(100, 200), popular);
+        assertEquals(1, movieDAO.selectListMovies(Constants.PAGE_TOP_RATED).size());
+        assertEquals(1, movieDAO.selectFavorites().size());
+    }
+
+    /**
+     * @return the list memberships as list_type:movie_id:rank, their fetched_at is checked to be 0.
+     */
+    private static List<String> selectMemberships(SupportSQLiteDatabase db) {
+        Cursor cursor = db.query("SELECT list_type, movie_id, rank, fetched_at FROM list_membership "
+                + "ORDER BY list_type, rank");
+        List<String> memberships = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                memberships.add(cursor.getString(0) + ":" + cursor.getInt(1) + ":" + cursor.getInt(2));
+                assertEquals(0, cursor.getLong(3));
+            }
+        } finally {
+            cursor.close();
+        }
+        return memberships;
+    }
+
+        private static void insertMovie(SupportSQLiteDatabase db, int dbId, int movieId, String movieType, int favorite) {
+        db.execSQL("INSERT INTO movies (db_id, movie_id, title, popularity, vote_count, vote_average, "
+                        + "favorite, movie_type) VALUES (?, ?, ?, 0, 0, 0, ?, ?)",
+                new Object[]{dbId, movieId, "title " + movieId, favorite, movieType});
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.local;
+
+import android.arch.persistence.room.Room;
+import android.content.Context;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.models.MoviesPage;
+import com.shehabsalah.movieappmvpclean.util.Constants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the ingestion of a movies list row by row against the batch transactional insert.
+ * The timings are logged only, the assertions check the saved rows.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieDAOBenchmark {
+    private static final String TAG = MovieDAOBenchmark.class.getSimpleName();
+    private static final String DB_NAME = "MovieDAOBenchmark.db";
+    private static final int ROWS = 500;
+
+    private Context mContext;
+    private MovieAppDatabase mDatabase;
+
+    @Before
+    public void openDatabase() {
+        mContext = InstrumentationRegistry.getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        // On disk DB, so each row insert pays the journal commit like the app does.
+        mDatabase = Room.databaseBuilder(mContext, MovieAppDatabase.class, DB_NAME).build();
+    }
+
+    @After
+    public void closeDatabase() {
+        mDatabase.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void rowInsertVsBatchInsert() {
+        MovieDAO movieDAO = mDatabase.movieDAO();
+
+        List<Movie> movies = createMovies(0);
+        long start = SystemClock.elapsedRealtime();
+        for (Movie movie : movies)
+            movieDAO.insertMovie(movie);
+        logRate("row insert", SystemClock.elapsedRealtime() - start);
+        assertEquals(ROWS, movieDAO.selectMovies(movieIds(movies)).size());
+
+        movies = createMovies(ROWS);
+        start = SystemClock.elapsedRealtime();
+        movieDAO.saveMoviesPage(movies, new MoviesPage(Constants.PAGE_POPULAR, 1, 1), true);
+        logRate("batch insert", SystemClock.elapsedRealtime() - start);
+        assertEquals(ROWS, movieDAO.selectListMovies(Constants.PAGE_POPULAR).size());
+        assertEquals(1, movieDAO.selectMoviesPage(Constants.PAGE_POPULAR).getPage());
+    }
+
+    private List<Movie> createMovies(int firstId) {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            int movieId = firstId + i;
+            movies.add(new Movie(0, movieId, "/poster" + movieId + ".jpg", "overview " + movieId,
+                    "2018-01-01", "title " + movieId, "en", "title " + movieId,
+                    "/backdrop" + movieId + ".jpg", ROWS - i, i, 7.5f, 0, Constants.PAGE_POPULAR));
+        }
+        return movies;
+    }
+
+    private List<Integer> movieIds(List<Movie> movies) {
+        List<Integer> movieIds = new ArrayList<>(movies.size());
+        for (Movie movie : movies)
+            movieIds.add(movie.getMovieId());
+        return movieIds;
+    }
+
+    private void logRate(String name, long elapsedMillis) {
+        Log.i(TAG, name + ": " + ROWS + " rows in " + elapsedMillis + " ms ("
+                + (ROWS * 1000L / Math.max(1, elapsedMillis)) + " rows/sec)");
+    }
+}
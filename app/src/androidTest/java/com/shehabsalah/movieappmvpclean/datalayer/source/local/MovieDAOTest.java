@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.local;
+
+import android.arch.persistence.room.Room;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.models.MoviesPage;
+import com.shehabsalah.movieappmvpclean.util.Constants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks the list memberships of the saved movies: a movie saved to several lists is saved once,
+ * listed in the server order of each list, and keeps its favorite state.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieDAOTest {
+
+    private MovieAppDatabase mDatabase;
+    private MovieDAO mMovieDAO;
+
+    @Before
+    public void openDatabase() {
+        mDatabase = Room.inMemoryDatabaseBuilder(InstrumentationRegistry.getTargetContext(),
+                MovieAppDatabase.class).build();
+        mMovieDAO = mDatabase.movieDAO();
+    }
+
+    @After
+    public void closeDatabase() {
+        mDatabase.close();
+    }
+
+    @Test
+    public void movieOfTwoLists_isListedInTheServerOrderOfEachList() {
+        saveMovies(Constants.PAGE_POPULAR, true, 3, 1, 2);
+        saveMovies(Constants.PAGE_TOP_RATED, true, 4, 1, 5);
+
+        assertEquals(Arrays.asList(3, 1, 2), listMovieIds(Constants.PAGE_POPULAR));
+        assertEquals(Arrays.asList(4, 1, 5), listMovieIds(Constants.PAGE_TOP_RATED));
+        assertEquals(1, mMovieDAO.selectMovies(Arrays.asList(1)).size());
+    }
+
+    @Test
+    public void appendedPage_keepsTheFirstRankOfARepeatedMovie() {
+        saveMovies(Constants.PAGE_POPULAR, true, 1, 2);
+        saveMovies(Constants.PAGE_POPULAR, false, 2, 3);
+
+        assertEquals(Arrays.asList(1, 2, 3), listMovieIds(Constants.PAGE_POPULAR));
+    }
+
+    @Test
+    public void upsertedMovie_keepsItsFavoriteState() {
+        saveMovies(Constants.PAGE_POPULAR, true, 1, 2);
+        Movie favorite = mMovieDAO.selectMovie(1);
+        favorite.setFavorite(Constants.FAVORITE_ACTIVE);
+        assertEquals(1, mMovieDAO.updateMovie(favorite));
+
+        Movie serverMovie = createMovie(1, Constants.PAGE_TOP_RATED);
+        serverMovie.setTitle("new title");
+        mMovieDAO.saveMoviesPage(Arrays.asList(serverMovie),
+                new MoviesPage(Constants.PAGE_TOP_RATED, 1, 1), true);
+
+        Movie savedMovie = mMovieDAO.selectMovie(1);
+        assertEquals(Constants.FAVORITE_ACTIVE, savedMovie.getFavorite());
+        assertEquals("new title", savedMovie.getTitle());
+        assertEquals(1, mMovieDAO.selectFavorites().size());
+    }
+
+    @Test
+    public void replacedList_keepsTheMoviesOfTheOtherList() {
+        saveMovies(Constants.PAGE_POPULAR, true, 1, 2, 3);
+        saveMovies(Constants.PAGE_TOP_RATED, true, 4, 2);
+
+        saveMovies(Constants.PAGE_POPULAR, true, 6, 7);
+
+        assertEquals(Arrays.asList(6, 7), listMovieIds(Constants.PAGE_POPULAR));
+        assertEquals(Arrays.asList(4, 2), listMovieIds(Constants.PAGE_TOP_RATED));
+        assertNotNull(mMovieDAO.selectMovie(2));
+        assertNull(mMovieDAO.selectMovie(1));
+        assertNull(mMovieDAO.selectMovie(3));
+    }
+
+    @Test
+    public void replacedList_keepsTheFavoriteMovies() {
+        saveMovies(Constants.PAGE_POPULAR, true, 1, 2);
+        Movie favorite = mMovieDAO.selectMovie(1);
+        favorite.setFavorite(Constants.FAVORITE_ACTIVE);
+        mMovieDAO.updateMovie(favorite);
+
+        saveMovies(Constants.PAGE_POPULAR, true, 3);
+
+        assertEquals(Arrays.asList(3), listMovieIds(Constants.PAGE_POPULAR));
+        assertNotNull(mMovieDAO.selectMovie(1));
+        assertNull(mMovieDAO.selectMovie(2));
+    }
+
+    private void saveMovies(String listType, boolean replace, int... movieIds) {
+        List<Movie> movies = new ArrayList<>(movieIds.length);
+        for (int movieId : movieIds)
+            movies.add(createMovie(movieId, listType));
+        mMovieDAO.saveMoviesPage(movies, new MoviesPage(listType, 1, 1), replace);
+    }
+
+    private List<Integer> listMovieIds(String listType) {
+        List<Integer> movieIds = new ArrayList<>();
+        for (Movie movie : mMovieDAO.selectListMovies(listType))
+            movieIds.add(movie.getMovieId());
+        return movieIds;
+    }
+
+    private static Movie createMovie(int movieId, String listType) {
+        return new Movie(0, movieId, "/poster" + movieId + ".jpg", "overview " + movieId,
+                "2018-01-01", "title " + movieId, "en", "title " + movieId,
+                "/backdrop" + movieId + ".jpg", 10f, 100, 7.5f, Constants.FAVORITE_NOT_ACTIVE, listType);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.models;
+
+import android.os.Parcel;
+import android.os.SystemClock;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.shehabsalah.movieappmvpclean.util.Constants;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Round trip of the {@link Movie} parcel, and a comparison of its size and its write / read time
+ * with the previous string array encoding. The benchmark numbers are logged only.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieParcelTest {
+    private static final String TAG = MovieParcelTest.class.getSimpleName();
+    private static final int ITERATIONS = 10000;
+
+    @Test
+    public void roundTrip() {
+        Movie movie = createMovie();
+        Movie restored = unparcel(parcel(movie));
+
+        assertEquals(movie.getDbId(), restored.getDbId());
+        assertEquals(movie.getOriginalTitle(), restored.getOriginalTitle());
+        assertEquals(movie.getOriginalLanguage(), restored.getOriginalLanguage());
+        assertEquals(movie.getPopularity(), restored.getPopularity(), 0f);
+        assertEquals(movie.getType(), restored.getType());
+        assertTrue(movie.hasSameContent(restored));
+    }
+
+    @Test
+    public void roundTripWithNullStrings() {
+        Movie movie = new Movie(0, 19404, null, null, null, null, null, null, null,
+                0f, 0, 0f, Constants.FAVORITE_NOT_ACTIVE, null);
+        Movie restored = unparcel(parcel(movie));
+
+        assertNull(restored.getPosterPath());
+        assertNull(restored.getBackdropPath());
+        assertNull(restored.getType());
+        assertTrue(movie.hasSameContent(restored));
+    }
+
+    @Test
+    public void typedVsStringArrayEncoding() {
+        Movie movie = createMovie();
+
+        byte[] typed = parcel(movie);
+        byte[] legacy = parcelAsStringArray(movie);
+        Log.i(TAG, "parcel size: typed " + typed.length + " bytes, string array " + legacy.length + " bytes");
+        assertTrue(typed.length < legacy.length);
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < ITERATIONS; i++)
+            unparcel(parcel(movie));
+        long typedNs = (SystemClock.elapsedRealtimeNanos() - start) / ITERATIONS;
+
+        start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < ITERATIONS; i++)
+            unparcelStringArray(parcelAsStringArray(movie));
+        long legacyNs = (SystemClock.elapsedRealtimeNanos() - start) / ITERATIONS;
+
+        Log.i(TAG, "write + read: typed " + typedNs + " ns, string array " + legacyNs + " ns");
+    }
+
+    private Movie createMovie() {
+        return new Movie(7, 19404, "/2CAL2433ZeIihfX1Hb2139CX0pW.jpg",
+                "Raj is a rich, carefree, happy-go-lucky second generation NRI. Simran is the daughter of "
+                        + "Chaudhary Baldev Singh, who in spite of being an NRI is very strict about adherence "
+                        + "to Indian values.",
+                "1995-10-20", "Dilwale Dulhania Le Jayenge", "hi", "Dilwale Dulhania Le Jayenge",
+                "/nl79FQ8xWZkhL3rDr1v2RFFR6J0.jpg", 16.5f, 1850, 9.1f, Constants.FAVORITE_ACTIVE,
+                Constants.PAGE_TOP_RATED);
+    }
+
+    private byte[] parcel(Movie movie) {
+        Parcel parcel = Parcel.obtain();
+        movie.writeToParcel(parcel, 0);
+        byte[] bytes = parcel.marshall();
+        parcel.recycle();
+        return bytes;
+    }
+
+    private Movie unparcel(byte[] bytes) {
+        Parcel parcel = Parcel.obtain();
+        parcel.unmarshall(bytes, 0, bytes.length);
+        parcel.setDataPosition(0);
+        Movie movie = new Movie(parcel);
+        parcel.recycle();
+        return movie;
+    }
+
+    // The previous encoding, every field written as a string of a 14 strings array.
+    private byte[] parcelAsStringArray(Movie movie) {
+        Parcel parcel = Parcel.obtain();
+        parcel.writeStringArray(new String[] {
+                String.valueOf(movie.getDbId()),
+                String.valueOf(movie.getMovieId()),
+                movie.getPosterPath(),
+                movie.getOverview(),
+                movie.getReleaseDate(),
+                movie.getOriginalTitle(),
+                movie.getOriginalLanguage(),
+                movie.getTitle(),
+                movie.getBackdropPath(),
+                String.valueOf(movie.getPopularity()),
+                String.valueOf(movie.getVoteCount()),
+                String.valueOf(movie.getVoteAverage()),
+                String.valueOf(movie.getFavorite()),
+                movie.getType()
+        });
+        byte[] bytes = parcel.marshall();
+        parcel.recycle();
+        return bytes;
+    }
+
+    private Movie unparcelStringArray(byte[] bytes) {
+        Parcel parcel = Parcel.obtain();
+        parcel.unmarshall(bytes, 0, bytes.length);
+        parcel.setDataPosition(0);
+        String[] data = new String[14];
+        parcel.readStringArray(data);
+        parcel.recycle();
+        return new Movie(Integer.parseInt(data[0]), Integer.parseInt(data[1]), data[2], data[3], data[4],
+                data[5], data[6], data[7], data[8], Float.parseFloat(data[9]), Integer.parseInt(data[10]),
+                Float.parseFloat(data[11]), Integer.parseInt(data[12]), data[13]);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.net.Uri;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.shehabsalah.movieappmvpclean.R;
+import com.squareup.picasso.MemoryPolicy;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.Request;
+import com.squareup.picasso.RequestCreator;
+import com.squareup.picasso.RequestHandler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the bitmap memory held while scrolling a large synthetic posters grid, decoding the
+ * posters at full resolution in ARGB_8888 against the decoding policy of PicassoHandler.
+ * The posters are w780 JPEGs served by a local request handler, so no network is used. The
+ * scroll keeps the bitmaps of the shown and cached rows alive, like the RecyclerView does.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImageDecodeMemoryTest {
+    private static final String TAG = ImageDecodeMemoryTest.class.getSimpleName();
+    private static final String SCHEME = "synthetic";
+    private static final int POSTERS = 300;
+    private static final int SPAN_COUNT = 2;
+    // Shown rows of the grid and the rows kept by the RecyclerView view cache.
+    private static final int HELD_ROWS = 4 + 2;
+    private static final int SOURCE_WIDTH = 780;
+    private static final int SOURCE_HEIGHT = 1170;
+
+    private Picasso mPicasso;
+    private int mCellWidth;
+    private int mCellHeight;
+
+    @Before
+    public void createPicasso() {
+        Context context = InstrumentationRegistry.getTargetContext();
+        final byte[] poster = createPosterJpeg();
+        mPicasso = new Picasso.Builder(context)
+                .addRequestHandler(new RequestHandler() {
+                    @Override
+                    public boolean canHandleRequest(Request data) {
+                        return data.uri != null && SCHEME.equals(data.uri.getScheme());
+                    }
+
+                    @Override
+                    public Result load(Request request, int networkPolicy) throws IOException {
+                        return new Result(new ByteArrayInputStream(poster), Picasso.LoadedFrom.DISK);
+                    }
+                })
+                .build();
+        mCellWidth = context.getResources().getDisplayMetrics().widthPixels / SPAN_COUNT;
+        mCellHeight = context.getResources().getDimensionPixelSize(R.dimen.poster_item_height);
+    }
+
+    @Test
+    public void scrollFullDecodeVsDecodePolicy() throws IOException {
+        long fullPeak = scroll(false);
+        long policyPeak = scroll(true);
+        Log.i(TAG, "full decode peak: " + fullPeak / 1024 + " KiB, decode policy peak: "
+                + policyPeak / 1024 + " KiB, cell " + mCellWidth + "x" + mCellHeight + " px");
+        // RGB_565 alone halves the memory, the downsampling saves more on every density.
+        assertTrue(policyPeak * 2 <= fullPeak);
+    }
+
+    /**
+     * Scroll the synthetic grid from the top to the bottom.
+     *
+     * @param decodePolicy true to decode with the PicassoHandler decoding policy.
+     * @return the peak bytes of the held bitmaps.
+     */
+    private long scroll(boolean decodePolicy) throws IOException {
+        Deque<Bitmap> held = new ArrayDeque<>();
+        long heldBytes = 0;
+        long peak = 0;
+        for (int position = 0; position < POSTERS; position++) {
+            RequestCreator request = mPicasso.load(Uri.parse(SCHEME + "://poster/" + position))
+                    .memoryPolicy(MemoryPolicy.NO_CACHE, MemoryPolicy.NO_STORE);
+            if (decodePolicy)
+                PicassoHandler.applyDecodePolicy(request, mCellWidth, mCellHeight).centerCrop();
+            Bitmap bitmap = request.get();
+            held.addLast(bitmap);
+            heldBytes += bitmap.getAllocationByteCount();
+            if (held.size() > HELD_ROWS * SPAN_COUNT) {
+                Bitmap recycled = held.removeFirst();
+                heldBytes -= recycled.getAllocationByteCount();
+                recycled.recycle();
+            }
+            peak = Math.max(peak, heldBytes);
+        }
+        for (Bitmap bitmap : held)
+            bitmap.recycle();
+        return peak;
+    }
+
+    private static byte[] createPosterJpeg() {
+        Bitmap bitmap = Bitmap.createBitmap(SOURCE_WIDTH, SOURCE_HEIGHT, Bitmap.Config.ARGB_8888);
+        Paint paint = new Paint();
+        paint.setShader(new LinearGradient(0, 0, SOURCE_WIDTH, SOURCE_HEIGHT,
+                Color.DKGRAY, Color.RED, Shader.TileMode.CLAMP));
+        new Canvas(bitmap).drawRect(0, 0, SOURCE_WIDTH, SOURCE_HEIGHT, paint);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+        bitmap.recycle();
+        return out.toByteArray();
+    }
+}
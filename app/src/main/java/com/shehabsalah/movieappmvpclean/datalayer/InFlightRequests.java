@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Registry of the requests that are still waiting for the server response. The first caller for
+ * a key starts the request, the later callers for the same key are attached to it and all of them
+ * are notified with the single result once it arrives.
+ *
+ * @param <C> the callback type notified with the result.
+ */
+
+class InFlightRequests<C> {
+    private final HashMap<String, ArrayList<C>> mPending = new HashMap<>();
+
+    /**
+     * Build the registry key of a request.
+     *
+     * @param resource the requested resource, one of the {@link com.shehabsalah.movieappmvpclean.util.Constants} pages.
+     * @param id       movie id or sort type the resource is requested for.
+     * @return the key identifying the request.
+     */
+    static String key(String resource, Object id) {
+        return resource + ":" + id;
+    }
+
+    /**
+     * Attach the callback to the pending request of the key, or register a new pending request if
+     * there is none.
+     *
+     * @param key      of the request.
+     * @param callback to notify with the request result.
+     * @return true if the caller has to start the request, false if it is already in flight.
+     */
+    synchronized boolean join(String key, C callback) {
+        ArrayList<C> callbacks = mPending.get(key);
+        if (callbacks != null) {
+            callbacks.add(callback);
+            return false;
+        }
+        callbacks = new ArrayList<>();
+        callbacks.add(callback);
+        mPending.put(key, callbacks);
+        return true;
+    }
+
+    /**
+     * Remove the pending request of the key.
+     *
+     * @param key of the finished request.
+     * @return the callbacks that were waiting for the request result.
+     */
+    synchronized ArrayList<C> complete(String key) {
+        ArrayList<C> callbacks = mPending.remove(key);
+        return callbacks != null ? callbacks : new ArrayList<C>(0);
+    }
+}
@@ -16,10 +16,12 @@
 package com.shehabsalah.movieappmvpclean.datalayer;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import com.shehabsalah.movieappmvpclean.datalayer.source.remote.listeners.NetworkListener;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.MoviesPage;
 import com.shehabsalah.movieappmvpclean.presentationlayer.movieslist.MoviesSortType;
 import java.util.ArrayList;
 
@@ -34,26 +36,40 @@ public interface MoviesDataSource{
         void onMoviesNotAvailable();
     }
 
-    interface LoadTrailersCallback extends NetworkListener{
-        void onTrailersLoaded(ArrayList<MovieTrailers> trailers);
-        void onTrailersNotAvailable();
+    interface LoadMovieDetailsCallback extends NetworkListener{
+        void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews);
+        void onMovieDetailsNotAvailable();
     }
 
-    interface LoadReviewsCallback extends NetworkListener{
-        void onReviewsLoaded(ArrayList<MovieReviews> reviews);
-        void onReviewsNotAvailable();
+    interface GetMovieCallback {
+        void onMovieLoaded(Movie movie);
+        void onMovieNotAvailable();
+    }
+
+    interface LoadMoviesPageCallback {
+        void onMoviesPageLoaded(@Nullable MoviesPage moviesPage);
     }
 
 
     default void refreshData(){}
+    default void requireFullResponse(String url){}
     void getMovies(@NonNull LoadMoviesCallback callback, MoviesSortType filter);
-    void getTrailers(@NonNull LoadTrailersCallback callback, int movieId);
-    void getReviews(@NonNull LoadReviewsCallback callback, int movieId);
+    default void getMovie(@NonNull GetMovieCallback callback, int movieId){}
+    default void getMovieDetails(@NonNull LoadMovieDetailsCallback callback, int movieId){}
+    default void getMovieDetails(@NonNull LoadMovieDetailsCallback callback, int movieId, boolean revalidate){}
+
+    default void getMoviesPage(@NonNull LoadMoviesCallback callback, MoviesSortType filter, int page, boolean revalidate){}
+    default void loadNextMoviesPage(@NonNull LoadMoviesCallback callback, MoviesSortType filter){}
+    default void getMoviesPageInfo(@NonNull LoadMoviesPageCallback callback, MoviesSortType filter){}
 
     default void saveTopRatedMovies(ArrayList<Movie> movies){}
     default void saveMostPopularMovies(ArrayList<Movie> movies){}
     default void saveMovieTrailers(ArrayList<MovieTrailers> movieTrailers, int movieId){}
     default void saveMovieReviews(ArrayList<MovieReviews> movieReviews, int movieId){}
+    default void saveMoviesPage(MoviesSortType filter, ArrayList<Movie> movies, int page, int totalPages, boolean replace){}
+    default void replaceMovieTrailers(ArrayList<MovieTrailers> movieTrailers, int movieId){}
+    default void replaceMovieReviews(ArrayList<MovieReviews> movieReviews, int movieId){}
+    default void replaceMovieDetails(ArrayList<MovieTrailers> movieTrailers, ArrayList<MovieReviews> movieReviews, int movieId){}
 
     default void updateMovie(Movie movie){}
 
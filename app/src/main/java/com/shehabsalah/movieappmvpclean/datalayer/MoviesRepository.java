@@ -16,15 +16,21 @@
 package com.shehabsalah.movieappmvpclean.datalayer;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
+import com.shehabsalah.movieappmvpclean.datalayer.source.cache.MoviesMemoryCache;
 import com.shehabsalah.movieappmvpclean.datalayer.source.local.MoviesLocalDataSource;
 import com.shehabsalah.movieappmvpclean.datalayer.source.remote.MoviesRemoteDataSource;
 import com.shehabsalah.movieappmvpclean.domainlayer.MoviesUseCase;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.MoviesPage;
 import com.shehabsalah.movieappmvpclean.models.response.GeneralResponse;
+import com.shehabsalah.movieappmvpclean.models.response.MovieDetailsResponse;
+import com.shehabsalah.movieappmvpclean.models.response.MoviesResponse;
 import com.shehabsalah.movieappmvpclean.presentationlayer.movieslist.MoviesSortType;
+import com.shehabsalah.movieappmvpclean.util.Constants;
 
 import java.util.ArrayList;
 
@@ -34,7 +40,8 @@ import java.util.ArrayList;
  * <p>
  * For simplicity, this implements a dumb synchronisation between locally persisted data and data
  * obtained from the server, by using the remote data source only if the local database doesn't
- * exist or is empty.
+ * exist or is empty. Loaded lists are kept in a bounded {@link MoviesMemoryCache} so repeated
+ * requests are answered without querying the local database.
  */
 
 public class MoviesRepository implements MoviesDataSource {
@@ -44,15 +51,29 @@ public class MoviesRepository implements MoviesDataSource {
 
     private final MoviesDataSource mMoviesLocalDataSource;
 
+    private final MoviesMemoryCache mMemoryCache;
+
+    private static final String RESOURCE_MOVIES = "movies";
+
+    private final InFlightRequests<LoadMoviesCallback> mMoviesInFlight = new InFlightRequests<>();
+
+    private final InFlightRequests<LoadMovieDetailsCallback> mDetailsInFlight = new InFlightRequests<>();
+
     /**
      * Marks the cache as invalid, to force an update the next time data is requested.
      */
     private boolean mCacheIsDirty = false;
 
+    /**
+     * Deliver the cached movies while refreshing them from the server.
+     */
+    private boolean mStaleWhileRevalidate = true;
+
     // Prevent direct instantiation.
     private MoviesRepository() {
         mMoviesRemoteDataSource = MoviesRemoteDataSource.getInstance();
         mMoviesLocalDataSource = MoviesLocalDataSource.getInstance();
+        mMemoryCache = new MoviesMemoryCache();
     }
 
     /**
@@ -76,142 +97,480 @@ public class MoviesRepository implements MoviesDataSource {
     }
 
     /**
-     * Gets movies list from the network data source.
+     * Turn the stale-while-revalidate mode of {@link #getMovies} on or off. When it is off, a
+     * refresh waits for the server response before delivering any movies.
      *
-     * @param callback to notify back the {@link MoviesUseCase} with the response result.
-     * @param filter   movie type to load from server.
+     * @param staleWhileRevalidate true to deliver the cached movies while refreshing them.
      */
-    private void getMoviesFromServer(@NonNull LoadMoviesCallback callback, MoviesSortType filter) {
-        mCacheIsDirty = false;
-        mMoviesRemoteDataSource.getMovies(callback, filter);
+    public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+        mStaleWhileRevalidate = staleWhileRevalidate;
     }
 
     /**
-     * Gets movie trailers list from the network data source.
+     * Release the in-memory cache, if the repository is created, when the system is running low
+     * on memory.
      *
-     * @param callback to notify back the {@link MoviesUseCase} with the response result.
-     * @param movieId  to load it's trailers.
+     * @param level the memory trim level received by the application.
      */
-    private void getTrailersFromServer(LoadTrailersCallback callback, int movieId) {
-        mCacheIsDirty = false;
-        mMoviesRemoteDataSource.getTrailers(callback, movieId);
+    public static void trimMemory(int level) {
+        MoviesRepository repository = INSTANCE;
+        if (repository != null)
+            repository.mMemoryCache.trimMemory(level);
     }
 
     /**
-     * Get movie reviews list from the network data source.
+     * Gets a page of the movies list from the network data source. If the same page is already
+     * requested the callback is attached to that request instead of starting a new one. The
+     * response is saved in the local data source once, before notifying the waiting callbacks.
+     * If the server answers 304 (Not Modified) and the page is still saved, nothing is written.
      *
-     * @param callback to notify back the {@link MoviesUseCase} with the response result.
-     * @param movieId  to load it's reviews.
+     * @param callback   to notify back the {@link MoviesUseCase} with the response result.
+     * @param filter     movie type to load from server.
+     * @param page       number of the page to load.
+     * @param revalidate true if the data is refreshed, the HTTP cache then revalidates its
+     *                   response with the server instead of serving it while it's fresh.
      */
-    private void getReviewsFromServer(LoadReviewsCallback callback, int movieId) {
+    private void getMoviesFromServer(@NonNull LoadMoviesCallback callback, final MoviesSortType filter, final int page,
+                                     boolean revalidate) {
         mCacheIsDirty = false;
-        mMoviesRemoteDataSource.getReviews(callback, movieId);
+        final String key = InFlightRequests.key(RESOURCE_MOVIES, filter + Constants.FILE_SEPARATOR + page);
+        if (!mMoviesInFlight.join(key, callback))
+            return;
+
+        mMoviesRemoteDataSource.getMoviesPage(new LoadMoviesCallback() {
+            @Override
+            public void onMoviesLoaded(ArrayList<Movie> movies) {
+                for (LoadMoviesCallback waiting : mMoviesInFlight.complete(key))
+                    waiting.onMoviesLoaded(movies);
+            }
+
+            @Override
+            public void onMoviesNotAvailable() {
+                for (LoadMoviesCallback waiting : mMoviesInFlight.complete(key))
+                    waiting.onMoviesNotAvailable();
+            }
+
+            @Override
+            public void noInternetConnection() {
+                for (LoadMoviesCallback waiting : mMoviesInFlight.complete(key))
+                    waiting.noInternetConnection();
+            }
+
+            @Override
+            public void onResponse(String TAG, Object response) {
+                ArrayList<LoadMoviesCallback> callbacks = mMoviesInFlight.complete(key);
+                saveMovies(filter, (MoviesResponse) response);
+                for (LoadMoviesCallback waiting : callbacks)
+                    waiting.onResponse(TAG, response);
+            }
+
+            @Override
+            public void onErrorResponse(String TAG, GeneralResponse response) {
+                for (LoadMoviesCallback waiting : mMoviesInFlight.complete(key))
+                    waiting.onErrorResponse(TAG, response);
+            }
+
+            @Override
+            public void onNotModified(final String TAG, final String url) {
+                final LoadMoviesCallback serverCallback = this;
+                getMoviesPageInfo(new LoadMoviesPageCallback() {
+                    @Override
+                    public void onMoviesPageLoaded(@Nullable MoviesPage moviesPage) {
+                        if (moviesPage != null && moviesPage.getPage() >= page) {
+                            for (LoadMoviesCallback waiting : mMoviesInFlight.complete(key))
+                                waiting.onNotModified(TAG, url);
+                            return;
+                        }
+                        // The page was removed from the local data source, read its body from the HTTP cache.
+                        mMoviesRemoteDataSource.requireFullResponse(url);
+                        mMoviesRemoteDataSource.getMoviesPage(serverCallback, filter, page, false);
+                    }
+                }, filter);
+            }
+        }, filter, page, revalidate);
+    }
+
+    /**
+     * Save a page of movies loaded from the server in the local data source, with the paging
+     * state of the list. The first page of a list replaces the stored movies of that list only,
+     * the next pages are appended to it.
+     *
+     * @param filter   movie type of the loaded movies.
+     * @param response page of movies loaded from the server.
+     */
+    private void saveMovies(MoviesSortType filter, MoviesResponse response) {
+        boolean replace = response.getPage() <= Constants.FIRST_PAGE;
+        saveMoviesPage(filter, response.getResults(), response.getPage(), response.getTotalPages(), replace);
     }
 
     /**
-     * Get movies list from local data source (SQLite[using ROOM Library]) or the network data
-     * source. The movies will be loaded from the network data source only if the data not available
-     * on the local data source or the {@code mCacheIsDirty} is dirty.
+     * Get the movie trailers and reviews from the network data source in a single request. If the
+     * details of the movie are already requested the callback is attached to that request instead
+     * of starting a new one. The trailers and reviews are saved in a single transaction.
+     *
+     * @param callback   to notify back the {@link MoviesUseCase} with the response result.
+     * @param movieId    to load it's trailers and reviews.
+     * @param revalidate true if the data is refreshed, the HTTP cache then revalidates its
+     *                   response with the server instead of serving it while it's fresh.
+     */
+    private void getMovieDetailsFromServer(LoadMovieDetailsCallback callback, final int movieId, boolean revalidate) {
+        final String key = InFlightRequests.key(Constants.PAGE_DETAILS, movieId);
+        if (!mDetailsInFlight.join(key, callback))
+            return;
+
+        mMoviesRemoteDataSource.getMovieDetails(new LoadMovieDetailsCallback() {
+            @Override
+            public void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews) {
+                for (LoadMovieDetailsCallback waiting : mDetailsInFlight.complete(key))
+                    waiting.onMovieDetailsLoaded(trailers, reviews);
+            }
+
+            @Override
+            public void onMovieDetailsNotAvailable() {
+                for (LoadMovieDetailsCallback waiting : mDetailsInFlight.complete(key))
+                    waiting.onMovieDetailsNotAvailable();
+            }
+
+            @Override
+            public void noInternetConnection() {
+                for (LoadMovieDetailsCallback waiting : mDetailsInFlight.complete(key))
+                    waiting.noInternetConnection();
+            }
+
+            @Override
+            public void onResponse(String TAG, Object response) {
+                ArrayList<LoadMovieDetailsCallback> callbacks = mDetailsInFlight.complete(key);
+                MovieDetailsResponse detailsResponse = (MovieDetailsResponse) response;
+                ArrayList<MovieTrailers> trailers = detailsResponse.getTrailers();
+                ArrayList<MovieReviews> reviews = detailsResponse.getReviews();
+                replaceMovieDetails(trailers, reviews, movieId);
+                for (LoadMovieDetailsCallback waiting : callbacks)
+                    waiting.onMovieDetailsLoaded(trailers, reviews);
+            }
+
+            @Override
+            public void onErrorResponse(String TAG, GeneralResponse response) {
+                for (LoadMovieDetailsCallback waiting : mDetailsInFlight.complete(key))
+                    waiting.onErrorResponse(TAG, response);
+            }
+
+            @Override
+            public void onNotModified(String TAG, final String url) {
+                final LoadMovieDetailsCallback serverCallback = this;
+                getSavedMovieDetails(new LoadMovieDetailsCallback() {
+                    @Override
+                    public void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews) {
+                        for (LoadMovieDetailsCallback waiting : mDetailsInFlight.complete(key))
+                            waiting.onMovieDetailsLoaded(trailers, reviews);
+                    }
+
+                    @Override
+                    public void onMovieDetailsNotAvailable() {
+                        // The details were removed from the local data source, read the body from the HTTP cache.
+                        mMoviesRemoteDataSource.requireFullResponse(url);
+                        mMoviesRemoteDataSource.getMovieDetails(serverCallback, movieId, false);
+                    }
+
+                    @Override
+                    public void noInternetConnection() {
+                        // Not required for this calling because this calling only call the local DB.
+                    }
+
+                    @Override
+                    public void onResponse(String TAG, Object response) {
+                        // Not required for this calling because this calling only call the local DB.
+                    }
+
+                    @Override
+                    public void onErrorResponse(String TAG, GeneralResponse response) {
+                        // Not required for this calling because this calling only call the local DB.
+                    }
+                }, movieId);
+            }
+        }, movieId, revalidate);
+    }
+
+    /**
+     * Get movies list from the memory cache, local data source (SQLite[using ROOM Library]) or the
+     * network data source. The movies will be loaded from the network data source only if the data
+     * not available on the local data source or the {@code mCacheIsDirty} is dirty.
+     * <p>
+     * When the cache is dirty and the stale-while-revalidate mode is on, the cached movies are
+     * delivered first then the movies are loaded from the network data source, and delivered again
+     * only if they are different from the cached ones.
      *
      * @param callback to notify back the {@link MoviesUseCase} with the response result.
      * @param filter   movie type to load from server.
      */
     @Override
     public void getMovies(@NonNull final LoadMoviesCallback callback, final MoviesSortType filter) {
-        if (mCacheIsDirty)
-            getMoviesFromServer(callback, filter);
-        else
-            mMoviesLocalDataSource.getMovies(new LoadMoviesCallback() {
-                @Override
-                public void onMoviesLoaded(ArrayList<Movie> movies) {
-                    callback.onMoviesLoaded(movies);
-                }
-
-                @Override
-                public void onMoviesNotAvailable() {
-                    getMoviesFromServer(callback, filter);
-                }
-
-                @Override
-                public void noInternetConnection() {
-                    // Not required for this calling because this calling only call the local DB.
-                }
-
-                @Override
-                public void onResponse(String TAG, Object response) {
-                    // Not required for this calling because this calling only call the local DB.
-                }
+        if (mCacheIsDirty) {
+            mCacheIsDirty = false;
+            if (mStaleWhileRevalidate)
+                getMoviesFromCache(new CachedMoviesCallback() {
+                    @Override
+                    public void onMoviesLoaded(ArrayList<Movie> movies) {
+                        callback.onMoviesLoaded(movies);
+                        revalidateMovies(callback, filter, Constants.FIRST_PAGE, movies, true);
+                    }
+
+                    @Override
+                    public void onMoviesNotAvailable() {
+                        revalidateMovies(callback, filter, Constants.FIRST_PAGE, null, true);
+                    }
+                }, filter);
+            else
+                revalidateMovies(callback, filter, Constants.FIRST_PAGE, null, true);
+            return;
+        }
 
-                @Override
-                public void onErrorResponse(String TAG, GeneralResponse response) {
-                    // Not required for this calling because this calling only call the local DB.
-                }
-            }, filter);
+        getMoviesFromCache(new CachedMoviesCallback() {
+            @Override
+            public void onMoviesLoaded(ArrayList<Movie> movies) {
+                callback.onMoviesLoaded(movies);
+            }
+
+            @Override
+            public void onMoviesNotAvailable() {
+                revalidateMovies(callback, filter, Constants.FIRST_PAGE, null, false);
+            }
+        }, filter);
     }
 
     /**
-     * Get movie trailers list from local data source (SQLite[using ROOM Library]) or the network
-     * data source. The movie trailers will be loaded from the network data source only if the data
-     * not available on the local data source or the {@code mCacheIsDirty} is dirty.
+     * Load the page after the last saved page of the movies list from the network data source,
+     * then deliver the whole saved list. {@link LoadMoviesCallback#onMoviesNotAvailable()} is
+     * fired if the server has no more pages for the list.
      *
      * @param callback to notify back the {@link MoviesUseCase} with the response result.
-     * @param movieId  to load it's trailers.
+     * @param filter   movie type to load from server.
      */
     @Override
-    public void getTrailers(@NonNull final LoadTrailersCallback callback, final int movieId) {
-        if (mCacheIsDirty)
-            getTrailersFromServer(callback, movieId);
-        else
-            mMoviesLocalDataSource.getTrailers(new LoadTrailersCallback() {
-                @Override
-                public void onTrailersLoaded(ArrayList<MovieTrailers> trailers) {
-                    callback.onTrailersLoaded(trailers);
-                }
+    public void loadNextMoviesPage(@NonNull final LoadMoviesCallback callback, final MoviesSortType filter) {
+        getMoviesPageInfo(new LoadMoviesPageCallback() {
+            @Override
+            public void onMoviesPageLoaded(@Nullable MoviesPage moviesPage) {
+                if (moviesPage == null)
+                    revalidateMovies(callback, filter, Constants.FIRST_PAGE, null, false);
+                else if (moviesPage.hasNextPage())
+                    revalidateMovies(callback, filter, moviesPage.getPage() + 1, null, false);
+                else
+                    callback.onMoviesNotAvailable();
+            }
+        }, filter);
+    }
 
-                @Override
-                public void onTrailersNotAvailable() {
-                    getTrailersFromServer(callback, movieId);
-                }
+    /**
+     * Get movies list from the memory cache, or from the local data source if it isn't cached in
+     * memory.
+     *
+     * @param callback to notify back with the cached movies.
+     * @param filter   movie type to load.
+     */
+    private void getMoviesFromCache(@NonNull final LoadMoviesCallback callback, final MoviesSortType filter) {
+        ArrayList<Movie> cachedMovies = mMemoryCache.getMovies(filter);
+        if (cachedMovies != null) {
+            callback.onMoviesLoaded(cachedMovies);
+            return;
+        }
+        // A read queued on the disk executor before a save returns the list of before the save,
+        // so it isn't cached if the save dropped the lists meanwhile.
+        final int generation = mMemoryCache.getMoviesGeneration();
+        mMoviesLocalDataSource.getMovies(new CachedMoviesCallback() {
+            @Override
+            public void onMoviesLoaded(ArrayList<Movie> movies) {
+                mMemoryCache.putMovies(filter, movies, generation);
+                callback.onMoviesLoaded(movies);
+            }
+
+            @Override
+            public void onMoviesNotAvailable() {
+                callback.onMoviesNotAvailable();
+            }
+        }, filter);
+    }
 
-                @Override
-                public void noInternetConnection() {
-                    // Not required for this calling because this calling only call the local DB.
-                }
+    /**
+     * Load the movies from the network data source, then deliver the saved movies through
+     * {@link LoadMoviesCallback#onMoviesLoaded(ArrayList)} if they differ from the stale movies
+     * the callback already received. {@link LoadMoviesCallback#onResponse(String, Object)} is
+     * always fired last to notify that the server response is handled.
+     *
+     * @param callback   to notify back the {@link MoviesUseCase} with the response result.
+     * @param filter     movie type to load from server.
+     * @param page       number of the page to load.
+     * @param stale      the movies already delivered to the callback, null if nothing delivered.
+     * @param revalidate true if the data is refreshed, see {@link #refreshData()}.
+     */
+    private void revalidateMovies(@NonNull final LoadMoviesCallback callback, final MoviesSortType filter,
+                                  int page, @Nullable final ArrayList<Movie> stale, boolean revalidate) {
+        getMoviesFromServer(new LoadMoviesCallback() {
+            @Override
+            public void onMoviesLoaded(ArrayList<Movie> movies) {
+                callback.onMoviesLoaded(movies);
+            }
+
+            @Override
+            public void onMoviesNotAvailable() {
+                if (stale == null)
+                    callback.onMoviesNotAvailable();
+            }
+
+            @Override
+            public void noInternetConnection() {
+                callback.noInternetConnection();
+            }
+
+            @Override
+            public void onResponse(final String TAG, final Object response) {
+                deliverSavedMovies(callback, filter, stale, new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onResponse(TAG, response);
+                    }
+                });
+            }
+
+            @Override
+            public void onNotModified(final String TAG, final String url) {
+                deliverSavedMovies(callback, filter, stale, new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onNotModified(TAG, url);
+                    }
+                });
+            }
+
+            @Override
+            public void onErrorResponse(String TAG, GeneralResponse response) {
+                callback.onErrorResponse(TAG, response);
+            }
+        }, filter, page, revalidate);
+    }
 
-                @Override
-                public void onResponse(String TAG, Object response) {
-                    // Not required for this calling because this calling only call the local DB.
-                }
+    /**
+     * Deliver the saved movies if they differ from the stale movies the callback already received.
+     *
+     * @param callback  to notify back the {@link MoviesUseCase} with the saved movies.
+     * @param filter    movie type to deliver.
+     * @param stale     the movies already delivered to the callback, null if nothing delivered.
+     * @param delivered fired after the movies are delivered.
+     */
+    private void deliverSavedMovies(@NonNull final LoadMoviesCallback callback, MoviesSortType filter,
+                                    @Nullable final ArrayList<Movie> stale, @NonNull final Runnable delivered) {
+        getMoviesFromCache(new CachedMoviesCallback() {
+            @Override
+            public void onMoviesLoaded(ArrayList<Movie> movies) {
+                if (!Movie.hasSameContent(stale, movies))
+                    callback.onMoviesLoaded(movies);
+                delivered.run();
+            }
+
+            @Override
+            public void onMoviesNotAvailable() {
+                if (stale == null)
+                    callback.onMoviesNotAvailable();
+                delivered.run();
+            }
+        }, filter);
+    }
 
-                @Override
-                public void onErrorResponse(String TAG, GeneralResponse response) {
-                    // Not required for this calling because this calling only call the local DB.
-                }
-            }, movieId);
+    /**
+     * Get a movie from the movies lists cached in memory, or from the local data source if it isn't
+     * cached. It's used by the screens that receive only the movie id.
+     *
+     * @param callback to notify back with the movie.
+     * @param movieId  id of the movie.
+     */
+    @Override
+    public void getMovie(@NonNull GetMovieCallback callback, int movieId) {
+        Movie cachedMovie = mMemoryCache.getMovie(movieId);
+        if (cachedMovie != null)
+            callback.onMovieLoaded(cachedMovie);
+        else
+            mMoviesLocalDataSource.getMovie(callback, movieId);
     }
 
     /**
-     * Get movie reviews list from local data source (SQLite[using ROOM Library]) or the network
-     * data source. The movie reviews will be loaded from the network data source only if the data
-     * not available on the local data source or the {@code mCacheIsDirty} is dirty.
+     * Get the movie trailers and reviews from the memory cache, local data source (SQLite[using
+     * ROOM Library]) or the network data source. They will be loaded from the network data source,
+     * in a single request, only if they aren't saved or the {@code mCacheIsDirty} is dirty.
      *
      * @param callback to notify back the {@link MoviesUseCase} with the response result.
-     * @param movieId  to load it's trailers.
+     * @param movieId  to load it's trailers and reviews.
      */
     @Override
-    public void getReviews(@NonNull final LoadReviewsCallback callback, final int movieId) {
-        if (mCacheIsDirty)
-            getReviewsFromServer(callback, movieId);
+    public void getMovieDetails(@NonNull final LoadMovieDetailsCallback callback, final int movieId) {
+        if (mCacheIsDirty) {
+            mCacheIsDirty = false;
+            getMovieDetailsFromServer(callback, movieId, true);
+            return;
+        }
+
+        getSavedMovieDetails(new LoadMovieDetailsCallback() {
+            @Override
+            public void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews) {
+                callback.onMovieDetailsLoaded(trailers, reviews);
+            }
+
+            @Override
+            public void onMovieDetailsNotAvailable() {
+                getMovieDetailsFromServer(callback, movieId, false);
+            }
+
+            @Override
+            public void noInternetConnection() {
+                // Not required for this calling because this calling only call the local DB.
+            }
+
+            @Override
+            public void onResponse(String TAG, Object response) {
+                // Not required for this calling because this calling only call the local DB.
+            }
+
+            @Override
+            public void onErrorResponse(String TAG, GeneralResponse response) {
+                // Not required for this calling because this calling only call the local DB.
+            }
+        }, movieId);
+    }
+
+    /**
+     * Load the movie trailers and reviews from the network data source, revalidating the HTTP
+     * cache response with the server, and save them. Used by the background sync, it doesn't
+     * touch the {@code mCacheIsDirty} of the screens.
+     *
+     * @param callback to notify back with the refreshed trailers and reviews.
+     * @param movieId  to refresh it's trailers and reviews.
+     */
+    public void refreshMovieDetails(@NonNull LoadMovieDetailsCallback callback, int movieId) {
+        getMovieDetailsFromServer(callback, movieId, true);
+    }
+
+    /**
+     * Get the movie trailers and reviews from the memory cache, or from the local data source if
+     * they aren't cached in memory.
+     *
+     * @param callback to notify back with the saved trailers and reviews.
+     * @param movieId  to load it's trailers and reviews.
+     */
+    private void getSavedMovieDetails(@NonNull final LoadMovieDetailsCallback callback, final int movieId) {
+        ArrayList<MovieTrailers> cachedTrailers = mMemoryCache.getTrailers(movieId);
+        ArrayList<MovieReviews> cachedReviews = mMemoryCache.getReviews(movieId);
+        if (cachedTrailers != null && cachedReviews != null)
+            callback.onMovieDetailsLoaded(cachedTrailers, cachedReviews);
         else
-            mMoviesLocalDataSource.getReviews(new LoadReviewsCallback() {
+            mMoviesLocalDataSource.getMovieDetails(new LoadMovieDetailsCallback() {
                 @Override
-                public void onReviewsLoaded(ArrayList<MovieReviews> reviews) {
-                    callback.onReviewsLoaded(reviews);
+                public void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews) {
+                    mMemoryCache.putTrailers(movieId, trailers);
+                    mMemoryCache.putReviews(movieId, reviews);
+                    callback.onMovieDetailsLoaded(trailers, reviews);
                 }
 
                 @Override
-                public void onReviewsNotAvailable() {
-                    getReviewsFromServer(callback, movieId);
+                public void onMovieDetailsNotAvailable() {
+                    callback.onMovieDetailsNotAvailable();
                 }
 
                 @Override
@@ -232,13 +591,84 @@ public class MoviesRepository implements MoviesDataSource {
     }
 
     /**
-     * Marks the cache as invalid, to force an update the next time data is requested.
+     * Marks the cache as invalid, to force an update the next time data is requested. The server
+     * request of that update revalidates the HTTP cache response with the server, so it isn't
+     * answered by a cached response that is still fresh.
      */
     @Override
     public void refreshData() {
         mCacheIsDirty = true;
     }
 
+    /**
+     * Get the paging state of a movies list from the local data source.
+     *
+     * @param callback to notify back with the paging state.
+     * @param filter   movies list type.
+     */
+    @Override
+    public void getMoviesPageInfo(@NonNull LoadMoviesPageCallback callback, MoviesSortType filter) {
+        mMoviesLocalDataSource.getMoviesPageInfo(callback, filter);
+    }
+
+    /**
+     * Save a page of a movies list with its paging state in the local data source, in a single
+     * transaction.
+     *
+     * @param filter     movies list type.
+     * @param movies     page of movies to save.
+     * @param page       number of the saved page.
+     * @param totalPages number of pages available on the server.
+     * @param replace    true to delete the movies of the list that aren't favorites before saving
+     *                   the page.
+     */
+    @Override
+    public void saveMoviesPage(MoviesSortType filter, ArrayList<Movie> movies, int page, int totalPages,
+                               boolean replace) {
+        // Only the saved list changes, the other cached lists stay valid.
+        mMemoryCache.removeMovies(filter);
+        mMoviesLocalDataSource.saveMoviesPage(filter, movies, page, totalPages, replace);
+    }
+
+    /**
+     * Replace the trailers of a movie in the local data source, in a single transaction.
+     *
+     * @param movieTrailers the new trailers of the movie.
+     * @param movieId       id of the movie that those trailers is belong to.
+     */
+    @Override
+    public void replaceMovieTrailers(ArrayList<MovieTrailers> movieTrailers, int movieId) {
+        mMemoryCache.putTrailers(movieId, movieTrailers);
+        mMoviesLocalDataSource.replaceMovieTrailers(movieTrailers, movieId);
+    }
+
+    /**
+     * Replace the reviews of a movie in the local data source, in a single transaction.
+     *
+     * @param movieReviews the new reviews of the movie.
+     * @param movieId      id of the movie that those reviews is belong to.
+     */
+    @Override
+    public void replaceMovieReviews(ArrayList<MovieReviews> movieReviews, int movieId) {
+        mMemoryCache.putReviews(movieId, movieReviews);
+        mMoviesLocalDataSource.replaceMovieReviews(movieReviews, movieId);
+    }
+
+    /**
+     * Replace the trailers and reviews of a movie in the local data source, in a single transaction.
+     *
+     * @param movieTrailers the new trailers of the movie.
+     * @param movieReviews  the new reviews of the movie.
+     * @param movieId       id of the movie that those trailers and reviews is belong to.
+     */
+    @Override
+    public void replaceMovieDetails(ArrayList<MovieTrailers> movieTrailers, ArrayList<MovieReviews> movieReviews,
+                                    int movieId) {
+        mMemoryCache.putTrailers(movieId, movieTrailers);
+        mMemoryCache.putReviews(movieId, movieReviews);
+        mMoviesLocalDataSource.replaceMovieDetails(movieTrailers, movieReviews, movieId);
+    }
+
     /**
      * Save the movies list in the local data source as top rated movies.
      *
@@ -246,6 +676,7 @@ public class MoviesRepository implements MoviesDataSource {
      */
     @Override
     public void saveTopRatedMovies(ArrayList<Movie> movies) {
+        mMemoryCache.removeMovies(MoviesSortType.TOP_RATED);
         mMoviesLocalDataSource.saveTopRatedMovies(movies);
     }
 
@@ -256,6 +687,7 @@ public class MoviesRepository implements MoviesDataSource {
      */
     @Override
     public void saveMostPopularMovies(ArrayList<Movie> movies) {
+        mMemoryCache.removeMovies(MoviesSortType.MOST_POPULAR);
         mMoviesLocalDataSource.saveMostPopularMovies(movies);
     }
 
@@ -267,6 +699,7 @@ public class MoviesRepository implements MoviesDataSource {
      */
     @Override
     public void saveMovieTrailers(ArrayList<MovieTrailers> movieTrailers, int movieId) {
+        mMemoryCache.removeTrailers(movieId);
         mMoviesLocalDataSource.saveMovieTrailers(movieTrailers, movieId);
     }
 
@@ -278,16 +711,19 @@ public class MoviesRepository implements MoviesDataSource {
      */
     @Override
     public void saveMovieReviews(ArrayList<MovieReviews> movieReviews, int movieId) {
+        mMemoryCache.removeReviews(movieId);
         mMoviesLocalDataSource.saveMovieReviews(movieReviews, movieId);
     }
 
     /**
-     * Update the movie information in the local data source.
+     * Update the movie information in the local data source. The movie may be listed in any of
+     * the cached lists, so all of them are dropped from the memory cache.
      *
      * @param movie update its data.
      */
     @Override
     public void updateMovie(Movie movie) {
+        mMemoryCache.evictMovies();
         mMoviesLocalDataSource.updateMovie(movie);
     }
 
@@ -296,6 +732,7 @@ public class MoviesRepository implements MoviesDataSource {
      */
     @Override
     public void deleteAllMovies() {
+        mMemoryCache.evictMovies();
         mMoviesLocalDataSource.deleteAllMovies();
     }
 
@@ -306,6 +743,7 @@ public class MoviesRepository implements MoviesDataSource {
      */
     @Override
     public void deleteMovieTrailers(int movieId) {
+        mMemoryCache.removeTrailers(movieId);
         mMoviesLocalDataSource.deleteMovieTrailers(movieId);
     }
 
@@ -316,6 +754,27 @@ public class MoviesRepository implements MoviesDataSource {
      */
     @Override
     public void deleteMovieReviews(int movieId) {
+        mMemoryCache.removeReviews(movieId);
         mMoviesLocalDataSource.deleteMovieReviews(movieId);
     }
+
+    /**
+     * Callback of the calls that only read the cached movies, so the network events never fire.
+     */
+    private abstract static class CachedMoviesCallback implements LoadMoviesCallback {
+        @Override
+        public void noInternetConnection() {
+            // Not required for this calling because this calling only call the local DB.
+        }
+
+        @Override
+        public void onResponse(String TAG, Object response) {
+            // Not required for this calling because this calling only call the local DB.
+        }
+
+        @Override
+        public void onErrorResponse(String TAG, GeneralResponse response) {
+            // Not required for this calling because this calling only call the local DB.
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.cache;
+
+import android.util.SparseArray;
+
+/**
+ * A least recently used cache keyed by primitive {@code int}s, so lookups by movie id never box
+ * the key into an {@link Integer}. Works like {@link android.util.LruCache}: every entry is
+ * weighed by {@link #sizeOf(int, Object)} and the least recently used entries are evicted once
+ * the total size exceeds the max size.
+ * The entries are linked in their access order, from the least to the most recently used, so an
+ * access and an eviction never scan the entries.
+ */
+
+public abstract class IntLruCache<V> {
+    private final SparseArray<Entry<V>> mEntries = new SparseArray<>();
+    // Sentinel of the access order list, its next entry is the least recently used.
+    private final Entry<V> mHead = new Entry<>(0, null, 0);
+    private final int mMaxSize;
+    private int mSize;
+
+    /**
+     * @param maxSize the maximum sum of the sizes of the entries in this cache.
+     */
+    public IntLruCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize <= 0");
+        mMaxSize = maxSize;
+        mHead.mPrevious = mHead;
+        mHead.mNext = mHead;
+    }
+
+    /**
+     * Returns the size of the entry for {@code key} and {@code value} in user-defined units.
+     */
+    protected abstract int sizeOf(int key, V value);
+
+    /**
+     * Returns the value for {@code key} if it exists in the cache and marks it as the most
+     * recently used entry.
+     *
+     * @param key to look up.
+     * @return the cached value or null.
+     */
+    public synchronized V get(int key) {
+        Entry<V> entry = mEntries.get(key);
+        if (entry == null)
+            return null;
+        unlink(entry);
+        linkLast(entry);
+        return entry.mValue;
+    }
+
+    /**
+     * Caches {@code value} for {@code key}, replacing any previous value, then evicts the least
+     * recently used entries if the cache grows over its max size.
+     *
+     * @param key   to cache the value under.
+     * @param value to cache.
+     */
+    public synchronized void put(int key, V value) {
+        remove(key);
+        Entry<V> entry = new Entry<>(key, value, sizeOf(key, value));
+        mEntries.put(key, entry);
+        linkLast(entry);
+        mSize += entry.mSize;
+        trimToSize(mMaxSize);
+    }
+
+    /**
+     * Removes the entry for {@code key} if it exists.
+     *
+     * @param key to remove.
+     * @return the previous value mapped by {@code key}.
+     */
+    public synchronized V remove(int key) {
+        int index = mEntries.indexOfKey(key);
+        if (index < 0)
+            return null;
+        Entry<V> entry = mEntries.valueAt(index);
+        mEntries.removeAt(index);
+        unlink(entry);
+        mSize -= entry.mSize;
+        return entry.mValue;
+    }
+
+    /**
+     * Removes the least recently used entries until the total size is at or below
+     * {@code maxSize}.
+     *
+     * @param maxSize the size to trim the cache to, -1 evicts every entry.
+     */
+    public synchronized void trimToSize(int maxSize) {
+        while (mSize > maxSize && mHead.mNext != mHead)
+            remove(mHead.mNext.mKey);
+    }
+
+    /**
+     * Clear the cache.
+     */
+    public synchronized void evictAll() {
+        trimToSize(-1);
+    }
+
+    public synchronized int size() {
+        return mSize;
+    }
+
+    public int maxSize() {
+        return mMaxSize;
+    }
+
+    private void linkLast(Entry<V> entry) {
+        entry.mPrevious = mHead.mPrevious;
+        entry.mNext = mHead;
+        mHead.mPrevious.mNext = entry;
+        mHead.mPrevious = entry;
+    }
+
+    private void unlink(Entry<V> entry) {
+        entry.mPrevious.mNext = entry.mNext;
+        entry.mNext.mPrevious = entry.mPrevious;
+        entry.mPrevious = null;
+        entry.mNext = null;
+    }
+
+    private static class Entry<V> {
+        final int mKey;
+        final V mValue;
+        final int mSize;
+        Entry<V> mPrevious;
+        Entry<V> mNext;
+
+        Entry(int key, V value, int size) {
+            mKey = key;
+            mValue = value;
+            mSize = size;
+        }
+    }
+}
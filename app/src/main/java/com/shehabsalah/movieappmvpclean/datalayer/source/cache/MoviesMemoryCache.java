@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.cache;
+
+import android.content.ComponentCallbacks2;
+import android.support.annotation.Nullable;
+import android.util.LruCache;
+
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.presentationlayer.movieslist.MoviesSortType;
+
+import java.util.ArrayList;
+
+/**
+ * In-memory (L1) tier that sits in front of the local data source. Movie lists are kept per
+ * {@link MoviesSortType} and the trailers and reviews per movie id, all of them in LRU caches that
+ * share a memory budget taken as a fraction of the app heap.
+ * Every removal of a movies list starts a new generation of the lists, so a list read from the
+ * local data source before the removal can't refill the cache with the data of before a change.
+ */
+
+public class MoviesMemoryCache {
+    /**
+     * The cache uses 1/32 of the heap, half for the movie lists and a quarter for each of the
+     * trailers and reviews.
+     */
+    private static final int HEAP_FRACTION = 32;
+
+    // Rough footprint of the cached objects, the strings are counted separately for reviews
+    // because the review content is the only field that grows with the data.
+    private static final int MOVIE_BYTES = 1024;
+    private static final int TRAILER_BYTES = 256;
+    private static final int REVIEW_BYTES = 128;
+
+    private final LruCache<MoviesSortType, ArrayList<Movie>> mMovies;
+    private final IntLruCache<ArrayList<MovieTrailers>> mTrailers;
+    private final IntLruCache<ArrayList<MovieReviews>> mReviews;
+    private int mMoviesGeneration;
+
+    public MoviesMemoryCache() {
+        this((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / HEAP_FRACTION));
+    }
+
+    /**
+     * @param budgetBytes the max number of bytes the cached movies, trailers and reviews can hold.
+     */
+    public MoviesMemoryCache(int budgetBytes) {
+        mMovies = new LruCache<MoviesSortType, ArrayList<Movie>>(Math.max(1, budgetBytes / 2)) {
+            @Override
+            protected int sizeOf(MoviesSortType key, ArrayList<Movie> value) {
+                return value.size() * MOVIE_BYTES;
+            }
+        };
+        mTrailers = new IntLruCache<ArrayList<MovieTrailers>>(Math.max(1, budgetBytes / 4)) {
+            @Override
+            protected int sizeOf(int key, ArrayList<MovieTrailers> value) {
+                return value.size() * TRAILER_BYTES;
+            }
+        };
+        mReviews = new IntLruCache<ArrayList<MovieReviews>>(Math.max(1, budgetBytes / 4)) {
+            @Override
+            protected int sizeOf(int key, ArrayList<MovieReviews> value) {
+                int size = 0;
+                for (MovieReviews review : value) {
+                    size += REVIEW_BYTES;
+                    if (review.getContent() != null)
+                        size += review.getContent().length() * 2;
+                }
+                return size;
+            }
+        };
+    }
+
+    @Nullable
+    public ArrayList<Movie> getMovies(MoviesSortType filter) {
+        return mMovies.get(filter);
+    }
+
+    /**
+     * @return the generation of the movie lists, read it before reading a list to cache.
+     */
+    public synchronized int getMoviesGeneration() {
+        return mMoviesGeneration;
+    }
+
+    /**
+     * Cache a movies list, unless a list was removed since the list was read.
+     *
+     * @param filter     movie type of the list.
+     * @param movies     the movies of the list.
+     * @param generation the {@link #getMoviesGeneration()} before the list was read.
+     */
+    public synchronized void putMovies(MoviesSortType filter, ArrayList<Movie> movies, int generation) {
+        if (generation == mMoviesGeneration)
+            mMovies.put(filter, movies);
+    }
+
+    public synchronized void removeMovies(MoviesSortType filter) {
+        mMoviesGeneration++;
+        mMovies.remove(filter);
+    }
+
+    /**
+     * Find a movie in the cached movies lists.
+     *
+     * @param movieId id of the movie.
+     * @return the cached movie, or null if it isn't in any cached list.
+     */
+    @Nullable
+    public Movie getMovie(int movieId) {
+        for (ArrayList<Movie> movies : mMovies.snapshot().values())
+            for (Movie movie : movies)
+                if (movie.getMovieId() == movieId)
+                    return movie;
+        return null;
+    }
+
+    /**
+     * Drop every cached movies list, used when a movie changed and may appear in any list.
+     */
+    public synchronized void evictMovies() {
+        mMoviesGeneration++;
+        mMovies.evictAll();
+    }
+
+    @Nullable
+    public ArrayList<MovieTrailers> getTrailers(int movieId) {
+        return mTrailers.get(movieId);
+    }
+
+    public void putTrailers(int movieId, ArrayList<MovieTrailers> trailers) {
+        mTrailers.put(movieId, trailers);
+    }
+
+    public void removeTrailers(int movieId) {
+        mTrailers.remove(movieId);
+    }
+
+    @Nullable
+    public ArrayList<MovieReviews> getReviews(int movieId) {
+        return mReviews.get(movieId);
+    }
+
+    public void putReviews(int movieId, ArrayList<MovieReviews> reviews) {
+        mReviews.put(movieId, reviews);
+    }
+
+    public void removeReviews(int movieId) {
+        mReviews.remove(movieId);
+    }
+
+    /**
+     * Shrink the cache when the system asks the app to release memory.
+     *
+     * @param level the level passed to {@link ComponentCallbacks2#onTrimMemory(int)}.
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            mMovies.evictAll();
+            mTrailers.evictAll();
+            mReviews.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            mMovies.trimToSize(mMovies.maxSize() / 2);
+            mTrailers.trimToSize(mTrailers.maxSize() / 2);
+            mReviews.trimToSize(mReviews.maxSize() / 2);
+        }
+    }
+}
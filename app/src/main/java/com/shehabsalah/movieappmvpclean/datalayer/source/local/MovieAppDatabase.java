@@ -15,19 +15,24 @@
  */
 package com.shehabsalah.movieappmvpclean.datalayer.source.local;
 
+import android.arch.persistence.db.SupportSQLiteDatabase;
 import android.arch.persistence.room.Database;
 import android.arch.persistence.room.Room;
 import android.arch.persistence.room.RoomDatabase;
+import android.arch.persistence.room.migration.Migration;
 import android.content.Context;
 
+import com.shehabsalah.movieappmvpclean.models.ListMembership;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.MoviesPage;
 
 /**
  * Created by ShehabSalah on 1/9/18.
  */
-@Database(entities = {Movie.class, MovieReviews.class, MovieTrailers.class}, version = 1)
+@Database(entities = {Movie.class, MovieReviews.class, MovieTrailers.class, MoviesPage.class,
+        ListMembership.class}, version = 3)
 public abstract class MovieAppDatabase extends RoomDatabase {
 
     private static MovieAppDatabase INSTANCE;
@@ -36,12 +41,43 @@ public abstract class MovieAppDatabase extends RoomDatabase {
 
     private static final Object sLock = new Object();
 
+    /**
+     * Version 2 adds the movie_pages table that keeps the last loaded page of each movies list.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `movie_pages` (`list_type` TEXT NOT NULL, "
+                    + "`page` INTEGER NOT NULL, `total_pages` INTEGER NOT NULL, PRIMARY KEY(`list_type`))");
+        }
+    };
+
+    /**
+     * Version 3 adds the list_membership table, so a movie can be a member of several lists in the
+     * server order, and an index on the favorite column. The saved movies become members of the
+     * list of their movie_type, ranked in their saving order.
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `list_membership` (`list_type` TEXT NOT NULL, "
+                    + "`movie_id` INTEGER NOT NULL, `rank` INTEGER NOT NULL, `fetched_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`list_type`, `movie_id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_list_membership_list_type_rank` "
+                    + "ON `list_membership` (`list_type`, `rank`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_movies_favorite` ON `movies` (`favorite`)");
+            database.execSQL("INSERT OR IGNORE INTO `list_membership` (`list_type`, `movie_id`, `rank`, `fetched_at`) "
+                    + "SELECT `movie_type`, `movie_id`, `db_id`, 0 FROM `movies` "
+                    + "WHERE `movie_type` IN ('popular', 'top_rated')");
+        }
+    };
+
     public static MovieAppDatabase getInstance(Context context) {
         synchronized (sLock) {
             if (INSTANCE == null) {
                 INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
                         MovieAppDatabase.class, "MoviesAppMvpClean.db")
-                        .allowMainThreadQueries()
+                        .addMigrations(MIGRATION_1_2, MIGRATION_2_3)
                         .build();
             }
             return INSTANCE;
@@ -19,11 +19,16 @@ import android.arch.persistence.room.Dao;
 import android.arch.persistence.room.Insert;
 import android.arch.persistence.room.OnConflictStrategy;
 import android.arch.persistence.room.Query;
+import android.arch.persistence.room.Transaction;
 import android.arch.persistence.room.Update;
+import com.shehabsalah.movieappmvpclean.models.ListMembership;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.MoviesPage;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -31,16 +36,27 @@ import java.util.List;
  * Data Access Object for the movies table.
  */
 @Dao
-public interface MovieDAO {
+public abstract class MovieDAO {
 
-    @Query("SELECT * FROM movies WHERE movie_type = 'popular' ORDER BY popularity DESC")
-    List<Movie> selectPopularMovies();
-
-    @Query("SELECT * FROM movies WHERE movie_type = 'top_rated' ORDER BY vote_average DESC, vote_count DESC")
-    List<Movie> selectTopRatedMovies();
+    /**
+     * Select the movies of a list in the server order. The list is read through the
+     * (list_type, rank) index, then each movie through the movie_id index, without sorting.
+     *
+     * @param listType type of the list to select its movies.
+     * @return the movies of the list.
+     */
+    @Query("SELECT movies.* FROM list_membership INNER JOIN movies ON movies.movie_id = list_membership.movie_id "
+            + "WHERE list_membership.list_type = :listType ORDER BY list_membership.rank")
+    public abstract List<Movie> selectListMovies(String listType);
 
     @Query("SELECT * FROM movies WHERE favorite = 1")
-    List<Movie> selectFavorites();
+    public abstract List<Movie> selectFavorites();
+
+    @Query("SELECT * FROM movies WHERE movie_id = :movieId LIMIT 1")
+    public abstract Movie selectMovie(int movieId);
+
+    @Query("SELECT * FROM movies WHERE movie_id IN (:movieIds)")
+    public abstract List<Movie> selectMovies(List<Integer> movieIds);
 
     /**
      * Insert a movie in the database. If the movie already exists, ignore it.
@@ -48,7 +64,16 @@ public interface MovieDAO {
      * @param movie the movie to be inserted.
      */
     @Insert(onConflict = OnConflictStrategy.IGNORE)
-    void insertMovie(Movie movie);
+    public abstract void insertMovie(Movie movie);
+
+    /**
+     * Insert a list of movies in the database in a single transaction. The movies that already
+     * exist are ignored.
+     *
+     * @param movies the movies to be inserted.
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertMovies(List<Movie> movies);
 
     /**
      * Update a movie.
@@ -57,18 +82,118 @@ public interface MovieDAO {
      * @return the number of movies updated. This should always be 1.
      */
     @Update
-    int updateMovie(Movie movie);
+    public abstract int updateMovie(Movie movie);
 
     /**
-     * Delete all movies.
+     * Update a list of movies in a single transaction.
+     *
+     * @param movies movies to be updated
+     * @return the number of movies updated.
+     */
+    @Update
+    public abstract int updateMovies(List<Movie> movies);
+
+    /**
+     * Save a list of movies. The new movies are inserted, the saved movies are updated with the
+     * server data and keep their favorite state.
+     *
+     * @param movies the movies to be saved.
+     */
+    @Transaction
+    public void upsertMovies(List<Movie> movies) {
+        ArrayList<Integer> movieIds = new ArrayList<>(movies.size());
+        for (Movie movie : movies)
+            movieIds.add(movie.getMovieId());
+        HashMap<Integer, Movie> savedMovies = new HashMap<>();
+        for (Movie savedMovie : selectMovies(movieIds))
+            savedMovies.put(savedMovie.getMovieId(), savedMovie);
+
+        ArrayList<Movie> newMovies = new ArrayList<>();
+        ArrayList<Movie> updatedMovies = new ArrayList<>();
+        for (Movie movie : movies) {
+            Movie savedMovie = savedMovies.get(movie.getMovieId());
+            if (savedMovie == null) {
+                newMovies.add(movie);
+            } else {
+                movie.setDbId(savedMovie.getDbId());
+                movie.setFavorite(savedMovie.getFavorite());
+                updatedMovies.add(movie);
+            }
+        }
+        insertMovies(newMovies);
+        updateMovies(updatedMovies);
+    }
+
+    /**
+     * Delete all movies, except the favorites, and the lists memberships.
+     */
+    @Transaction
+    public void deleteAll() {
+        deleteAllListMemberships();
+        deleteUnlistedMovies();
+    }
+
+    /**
+     * Delete the movies of a list, the movies that are favorites or members of other lists are
+     * kept.
+     *
+     * @param listType type of the list to delete its movies.
+     */
+    @Transaction
+    public void deleteMovies(String listType) {
+        deleteListMemberships(listType);
+        deleteUnlistedMovies();
+    }
+
+    /**
+     * Delete the movies that aren't favorites nor members of any list.
      *
      * @return the number of movies deleted.
      */
-    @Query("DELETE FROM movies WHERE favorite = 0")
-    int deleteAll();
+    @Query("DELETE FROM movies WHERE favorite = 0 AND movie_id NOT IN (SELECT movie_id FROM list_membership)")
+    public abstract int deleteUnlistedMovies();
+
+    /**
+     * Insert the memberships of movies in a list. A movie that is already a member of the list
+     * keeps its first rank, so a movie repeated on a later page isn't shown twice.
+     *
+     * @param listMemberships the memberships to be inserted.
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertListMemberships(List<ListMembership> listMemberships);
+
+    /**
+     * @param listType type of the list.
+     * @return the rank of the last movie of the list, or -1 if the list is empty.
+     */
+    @Query("SELECT IFNULL(MAX(rank), -1) FROM list_membership WHERE list_type = :listType")
+    public abstract int selectLastRank(String listType);
+
+    @Query("DELETE FROM list_membership WHERE list_type = :listType")
+    public abstract int deleteListMemberships(String listType);
+
+    @Query("DELETE FROM list_membership")
+    public abstract int deleteAllListMemberships();
+
+    /**
+     * Save movies at the end of a list in a single transaction, ranked in the given order.
+     *
+     * @param listType type of the list.
+     * @param movies   the movies to be appended to the list, in the server order.
+     */
+    @Transaction
+    public void appendListMovies(String listType, List<Movie> movies) {
+        upsertMovies(movies);
+        int rank = selectLastRank(listType);
+        long fetchedAt = System.currentTimeMillis();
+        ArrayList<ListMembership> listMemberships = new ArrayList<>(movies.size());
+        for (Movie movie : movies)
+            listMemberships.add(new ListMembership(listType, movie.getMovieId(), ++rank, fetchedAt));
+        insertListMemberships(listMemberships);
+    }
 
     @Query("SELECT * FROM reviews WHERE movie_id = :movieId")
-    List<MovieReviews> selectReviews(int movieId);
+    public abstract List<MovieReviews> selectReviews(int movieId);
 
     /**
      * Insert a movie review in the database. If the movie review already exists, ignore it.
@@ -76,7 +201,16 @@ public interface MovieDAO {
      * @param movieReviews movie review to be inserted.
      */
     @Insert(onConflict = OnConflictStrategy.IGNORE)
-    void insertMovieReview(MovieReviews movieReviews);
+    public abstract void insertMovieReview(MovieReviews movieReviews);
+
+    /**
+     * Insert a list of movie reviews in the database in a single transaction. The reviews that
+     * already exist are ignored.
+     *
+     * @param movieReviews movie reviews to be inserted.
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertMovieReviews(List<MovieReviews> movieReviews);
 
     /**
      * Delete a movie review by movie id.
@@ -84,11 +218,11 @@ public interface MovieDAO {
      * @return the number of movie reviews deleted..
      */
     @Query("DELETE FROM reviews WHERE movie_id = :movieId")
-    int deleteAllReviews(int movieId);
+    public abstract int deleteAllReviews(int movieId);
 
 
     @Query("SELECT * FROM trailers WHERE movie_id = :movieId")
-    List<MovieTrailers> selectTrailers(int movieId);
+    public abstract List<MovieTrailers> selectTrailers(int movieId);
 
     /**
      * Insert a movie trailer in the database. If the movie trailer already exists, ignore it.
@@ -96,7 +230,16 @@ public interface MovieDAO {
      * @param movieTrailers movie trailer to be inserted.
      */
     @Insert(onConflict = OnConflictStrategy.IGNORE)
-    void insertMovieTrailer(MovieTrailers movieTrailers);
+    public abstract void insertMovieTrailer(MovieTrailers movieTrailers);
+
+    /**
+     * Insert a list of movie trailers in the database in a single transaction. The trailers that
+     * already exist are ignored.
+     *
+     * @param movieTrailers movie trailers to be inserted.
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertMovieTrailers(List<MovieTrailers> movieTrailers);
 
     /**
      * Delete a movie trailer by movie id.
@@ -104,6 +247,74 @@ public interface MovieDAO {
      * @return the number of movie trailers deleted..
      */
     @Query("DELETE FROM trailers WHERE movie_id = :movieId")
-    int deleteAllTrailers(int movieId);
+    public abstract int deleteAllTrailers(int movieId);
+
+    @Query("SELECT * FROM movie_pages WHERE list_type = :listType")
+    public abstract MoviesPage selectMoviesPage(String listType);
+
+    /**
+     * Insert the paging state of a movies list. If the list already has a paging state, replace it.
+     *
+     * @param moviesPage paging state to be inserted.
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertMoviesPage(MoviesPage moviesPage);
+
+    /**
+     * Save a page of a movies list with the paging state of the list in a single transaction. If
+     * {@code replace} is true, the movies of the same list are deleted first, so the readers never
+     * see an empty list. The movies of the other lists aren't touched, so the lists can be
+     * refreshed independently.
+     *
+     * @param movies     page of movies to be inserted.
+     * @param moviesPage paging state of the list after saving the page.
+     * @param replace    true to replace the saved movies, false to append the page to them.
+     */
+    @Transaction
+    public void saveMoviesPage(List<Movie> movies, MoviesPage moviesPage, boolean replace) {
+        if (replace)
+            deleteListMemberships(moviesPage.getListType());
+        appendListMovies(moviesPage.getListType(), movies);
+        if (replace)
+            deleteUnlistedMovies();
+        insertMoviesPage(moviesPage);
+    }
+
+    /**
+     * Replace the trailers of a movie in a single transaction.
+     *
+     * @param movieId       id of the movie.
+     * @param movieTrailers the new trailers of the movie.
+     */
+    @Transaction
+    public void replaceMovieTrailers(int movieId, List<MovieTrailers> movieTrailers) {
+        deleteAllTrailers(movieId);
+        insertMovieTrailers(movieTrailers);
+    }
+
+    /**
+     * Replace the reviews of a movie in a single transaction.
+     *
+     * @param movieId      id of the movie.
+     * @param movieReviews the new reviews of the movie.
+     */
+    @Transaction
+    public void replaceMovieReviews(int movieId, List<MovieReviews> movieReviews) {
+        deleteAllReviews(movieId);
+        insertMovieReviews(movieReviews);
+    }
+
+    /**
+     * Replace the trailers and reviews of a movie in a single transaction.
+     *
+     * @param movieId       id of the movie.
+     * @param movieTrailers the new trailers of the movie.
+     * @param movieReviews  the new reviews of the movie.
+     */
+    @Transaction
+    public void replaceMovieDetails(int movieId, List<MovieTrailers> movieTrailers, List<MovieReviews> movieReviews) {
+        replaceMovieTrailers(movieId, movieTrailers);
+        replaceMovieReviews(movieId, movieReviews);
+    }
 
 }
@@ -22,24 +22,32 @@ import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.MoviesPage;
 import com.shehabsalah.movieappmvpclean.presentationlayer.movieslist.MoviesSortType;
+import com.shehabsalah.movieappmvpclean.util.AppExecutors;
 import com.shehabsalah.movieappmvpclean.util.ApplicationClass;
 import com.shehabsalah.movieappmvpclean.util.Constants;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by shehabsalah on 1/25/18.
  * Concrete implementation of a data source as a db.
+ * <p>
+ * Every DB call runs on the {@link AppExecutors#diskIO()} executor and the callbacks are posted
+ * back on the main thread.
  */
 
 public class MoviesLocalDataSource implements MoviesDataSource {
     private static volatile MoviesLocalDataSource INSTANCE;
     private MovieAppDatabase mMovieAppDatabase;
+    private AppExecutors mAppExecutors;
 
     // Prevent direct instantiation.
     private MoviesLocalDataSource() {
         mMovieAppDatabase = MovieAppDatabase.getInstance(ApplicationClass.getAppContext());
+        mAppExecutors = AppExecutors.getInstance();
     }
 
     public static MoviesLocalDataSource getInstance() {
@@ -54,115 +62,150 @@ public class MoviesLocalDataSource implements MoviesDataSource {
     }
 
     /**
-     * Load movies list that has type most popular.
-     * <p>
-     * Note: {@link LoadMoviesCallback#onMoviesNotAvailable()} is fired if the {@link Movie}s isn't
-     * found or there is no {@link Movie}s in the DB.
+     * Query the movies list of a type. Must be called on the disk IO executor.
      *
-     * @param callback to notify back the {@link MoviesRepository} with the query result.
+     * @param filter movie type to load from DB.
+     * @return the movies list, or null if the type isn't saved in the DB.
      */
-    private void loadMostPopular(@NonNull LoadMoviesCallback callback) {
-        ArrayList<Movie> movies = new ArrayList<>(mMovieAppDatabase.movieDAO().selectPopularMovies());
-        if (movies.size() > 0)
-            callback.onMoviesLoaded(movies);
-        else
-            callback.onMoviesNotAvailable();
+    private List<Movie> selectMovies(MoviesSortType filter) {
+        switch (filter) {
+            case FAVORITES:
+                return mMovieAppDatabase.movieDAO().selectFavorites();
+            case TOP_RATED:
+            case MOST_POPULAR:
+                return mMovieAppDatabase.movieDAO().selectListMovies(getListType(filter));
+            default:
+                return null;
+        }
     }
 
     /**
-     * Load movies list that has type top rated.
+     * Load movies from DB.
      * <p>
      * Note: {@link LoadMoviesCallback#onMoviesNotAvailable()} is fired if the {@link Movie}s isn't
      * found or there is no {@link Movie}s in the DB.
      *
      * @param callback to notify back the {@link MoviesRepository} with the query result.
+     * @param filter   movie type to load from DB.
      */
-    private void loadTopRated(@NonNull LoadMoviesCallback callback) {
-        ArrayList<Movie> movies = new ArrayList<>(mMovieAppDatabase.movieDAO().selectTopRatedMovies());
-        if (movies.size() > 0)
-            callback.onMoviesLoaded(movies);
-        else
-            callback.onMoviesNotAvailable();
+    @Override
+    public void getMovies(@NonNull final LoadMoviesCallback callback, final MoviesSortType filter) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                List<Movie> result = selectMovies(filter);
+                final ArrayList<Movie> movies = result != null ? new ArrayList<>(result) : new ArrayList<Movie>(0);
+                mAppExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (movies.size() > 0)
+                            callback.onMoviesLoaded(movies);
+                        else
+                            callback.onMoviesNotAvailable();
+                    }
+                });
+            }
+        });
     }
 
     /**
-     * Load movies list that has type favorite.
-     * <p>
-     * Note: {@link LoadMoviesCallback#onMoviesNotAvailable()} is fired if the {@link Movie}s isn't
-     * found or there is no {@link Movie}s in the DB.
+     * Load a movie from DB by its movie id.
      *
      * @param callback to notify back the {@link MoviesRepository} with the query result.
+     * @param movieId  id of the movie.
      */
-    private void loadFavorites(@NonNull LoadMoviesCallback callback) {
-        ArrayList<Movie> movies = new ArrayList<>(mMovieAppDatabase.movieDAO().selectFavorites());
-        if (movies.size() > 0)
-            callback.onMoviesLoaded(movies);
-        else
-            callback.onMoviesNotAvailable();
+    @Override
+    public void getMovie(@NonNull final GetMovieCallback callback, final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Movie movie = mMovieAppDatabase.movieDAO().selectMovie(movieId);
+                mAppExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (movie != null)
+                            callback.onMovieLoaded(movie);
+                        else
+                            callback.onMovieNotAvailable();
+                    }
+                });
+            }
+        });
     }
 
-
     /**
-     * Load movies from DB.
+     * Load the movie trailers and reviews from DB in a single task.
+     * <p>
+     * Note: {@link LoadMovieDetailsCallback#onMovieDetailsNotAvailable()} is fired if the movie has
+     * no trailers and no reviews in the DB.
      *
      * @param callback to notify back the {@link MoviesRepository} with the query result.
-     * @param filter   movie type to load from DB.
+     * @param movieId  to load it's trailers and reviews.
      */
     @Override
-    public void getMovies(@NonNull LoadMoviesCallback callback, MoviesSortType filter) {
-        switch (filter) {
-            case FAVORITES:
-                loadFavorites(callback);
-                break;
-            case TOP_RATED:
-                loadTopRated(callback);
-                break;
-            case MOST_POPULAR:
-                loadMostPopular(callback);
-                break;
-            default:
-                callback.onMoviesNotAvailable();
-        }
+    public void getMovieDetails(@NonNull final LoadMovieDetailsCallback callback, final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                final ArrayList<MovieTrailers> movieTrailers =
+                        new ArrayList<>(mMovieAppDatabase.movieDAO().selectTrailers(movieId));
+                final ArrayList<MovieReviews> movieReviews =
+                        new ArrayList<>(mMovieAppDatabase.movieDAO().selectReviews(movieId));
+                mAppExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (movieTrailers.size() > 0 || movieReviews.size() > 0)
+                            callback.onMovieDetailsLoaded(movieTrailers, movieReviews);
+                        else
+                            callback.onMovieDetailsNotAvailable();
+                    }
+                });
+            }
+        });
     }
 
     /**
-     * Load the movie trailers from DB.
+     * Load the paging state of a movies list from DB.
      * <p>
-     * Note: {@link LoadTrailersCallback#onTrailersNotAvailable()} is fired if the {@link MovieTrailers}
-     * isn't found or there is no {@link MovieTrailers} in the DB.
+     * Note: {@link LoadMoviesPageCallback#onMoviesPageLoaded(MoviesPage)} is fired with null if
+     * no page of the list is saved yet.
      *
      * @param callback to notify back the {@link MoviesRepository} with the query result.
-     * @param movieId  to load it's trailers.
+     * @param filter   movies list type.
      */
     @Override
-    public void getTrailers(@NonNull LoadTrailersCallback callback, int movieId) {
-        ArrayList<MovieTrailers> movieTrailers =
-                new ArrayList<>(mMovieAppDatabase.movieDAO().selectTrailers(movieId));
-
-        if (movieTrailers.size() > 0)
-            callback.onTrailersLoaded(movieTrailers);
-        else
-            callback.onTrailersNotAvailable();
+    public void getMoviesPageInfo(@NonNull final LoadMoviesPageCallback callback, MoviesSortType filter) {
+        final String listType = getListType(filter);
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                final MoviesPage moviesPage = listType != null
+                        ? mMovieAppDatabase.movieDAO().selectMoviesPage(listType) : null;
+                mAppExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onMoviesPageLoaded(moviesPage);
+                    }
+                });
+            }
+        });
     }
 
     /**
-     * Load the movie reviews from DB.
-     * <p>
-     * Note: {@link LoadReviewsCallback#onReviewsNotAvailable()} is fired if the {@link MovieReviews}
-     * isn't found or there is no {@link MovieReviews} in the DB.
+     * Get the type saved in the DB for the movies of a list.
      *
-     * @param callback to notify back the {@link MoviesRepository} with the query result.
-     * @param movieId  to load it's reviews.
+     * @param filter movies list type.
+     * @return the type of the list movies, or null if the list isn't loaded from the server.
      */
-    @Override
-    public void getReviews(@NonNull LoadReviewsCallback callback, int movieId) {
-        ArrayList<MovieReviews> movieReviews =
-                new ArrayList<>(mMovieAppDatabase.movieDAO().selectReviews(movieId));
-
-        if (movieReviews.size() > 0)
-            callback.onReviewsLoaded(movieReviews);
-        else
-            callback.onReviewsNotAvailable();
+    private static String getListType(MoviesSortType filter) {
+        switch (filter) {
+            case TOP_RATED:
+                return Constants.PAGE_TOP_RATED;
+            case MOST_POPULAR:
+                return Constants.PAGE_POPULAR;
+            default:
+                return null;
+        }
     }
 
     @Override
@@ -177,12 +220,15 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      * @param movies movies list to save in the DB as top rated movies.
      */
     @Override
-    public void saveTopRatedMovies(ArrayList<Movie> movies) {
-        for (Movie movie : movies) {
-            movie.setType(Constants.PAGE_TOP_RATED);
-            mMovieAppDatabase.movieDAO().insertMovie(movie);
-        }
-
+    public void saveTopRatedMovies(final ArrayList<Movie> movies) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Movie movie : movies)
+                    movie.setType(Constants.PAGE_TOP_RATED);
+                mMovieAppDatabase.movieDAO().appendListMovies(Constants.PAGE_TOP_RATED, movies);
+            }
+        });
     }
 
     /**
@@ -191,11 +237,15 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      * @param movies list to save in the DB as most popular movies.
      */
     @Override
-    public void saveMostPopularMovies(ArrayList<Movie> movies) {
-        for (Movie movie : movies) {
-            movie.setType(Constants.PAGE_POPULAR);
-            mMovieAppDatabase.movieDAO().insertMovie(movie);
-        }
+    public void saveMostPopularMovies(final ArrayList<Movie> movies) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Movie movie : movies)
+                    movie.setType(Constants.PAGE_POPULAR);
+                mMovieAppDatabase.movieDAO().appendListMovies(Constants.PAGE_POPULAR, movies);
+            }
+        });
     }
 
     /**
@@ -205,11 +255,15 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      * @param movieId       movie id that those trailers is belong to.
      */
     @Override
-    public void saveMovieTrailers(ArrayList<MovieTrailers> movieTrailers, int movieId) {
-        for (MovieTrailers mTrailer : movieTrailers) {
-            mTrailer.setMovieId(movieId);
-            mMovieAppDatabase.movieDAO().insertMovieTrailer(mTrailer);
-        }
+    public void saveMovieTrailers(final ArrayList<MovieTrailers> movieTrailers, final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (MovieTrailers mTrailer : movieTrailers)
+                    mTrailer.setMovieId(movieId);
+                mMovieAppDatabase.movieDAO().insertMovieTrailers(movieTrailers);
+            }
+        });
     }
 
     /**
@@ -219,11 +273,99 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      * @param movieId      movie id that those reviews is belong to.
      */
     @Override
-    public void saveMovieReviews(ArrayList<MovieReviews> movieReviews, int movieId) {
-        for (MovieReviews mReviews : movieReviews) {
-            mReviews.setMovieId(movieId);
-            mMovieAppDatabase.movieDAO().insertMovieReview(mReviews);
-        }
+    public void saveMovieReviews(final ArrayList<MovieReviews> movieReviews, final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (MovieReviews mReviews : movieReviews)
+                    mReviews.setMovieId(movieId);
+                mMovieAppDatabase.movieDAO().insertMovieReviews(movieReviews);
+            }
+        });
+    }
+
+    /**
+     * Save a page of a movies list with the paging state of the list in a single transaction.
+     *
+     * @param filter     movies list type.
+     * @param movies     page of movies to save in the DB.
+     * @param page       number of the saved page.
+     * @param totalPages number of pages available on the server.
+     * @param replace    true to replace the saved movies of the list with the page.
+     */
+    @Override
+    public void saveMoviesPage(MoviesSortType filter, final ArrayList<Movie> movies, int page, int totalPages,
+                               final boolean replace) {
+        final String listType = getListType(filter);
+        if (listType == null)
+            return;
+        final MoviesPage moviesPage = new MoviesPage(listType, page, totalPages);
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Movie movie : movies)
+                    movie.setType(listType);
+                mMovieAppDatabase.movieDAO().saveMoviesPage(movies, moviesPage, replace);
+            }
+        });
+    }
+
+    /**
+     * Replace the trailers of a movie in the DB in a single transaction.
+     *
+     * @param movieTrailers the new trailers of the movie.
+     * @param movieId       movie id that those trailers is belong to.
+     */
+    @Override
+    public void replaceMovieTrailers(final ArrayList<MovieTrailers> movieTrailers, final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (MovieTrailers mTrailer : movieTrailers)
+                    mTrailer.setMovieId(movieId);
+                mMovieAppDatabase.movieDAO().replaceMovieTrailers(movieId, movieTrailers);
+            }
+        });
+    }
+
+    /**
+     * Replace the reviews of a movie in the DB in a single transaction.
+     *
+     * @param movieReviews the new reviews of the movie.
+     * @param movieId      movie id that those reviews is belong to.
+     */
+    @Override
+    public void replaceMovieReviews(final ArrayList<MovieReviews> movieReviews, final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (MovieReviews mReviews : movieReviews)
+                    mReviews.setMovieId(movieId);
+                mMovieAppDatabase.movieDAO().replaceMovieReviews(movieId, movieReviews);
+            }
+        });
+    }
+
+    /**
+     * Replace the trailers and reviews of a movie in the DB in a single transaction.
+     *
+     * @param movieTrailers the new trailers of the movie.
+     * @param movieReviews  the new reviews of the movie.
+     * @param movieId       movie id that those trailers and reviews is belong to.
+     */
+    @Override
+    public void replaceMovieDetails(final ArrayList<MovieTrailers> movieTrailers,
+                                    final ArrayList<MovieReviews> movieReviews, final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (MovieTrailers mTrailer : movieTrailers)
+                    mTrailer.setMovieId(movieId);
+                for (MovieReviews mReviews : movieReviews)
+                    mReviews.setMovieId(movieId);
+                mMovieAppDatabase.movieDAO().replaceMovieDetails(movieId, movieTrailers, movieReviews);
+            }
+        });
     }
 
     /**
@@ -232,8 +374,13 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      * @param movie to update.
      */
     @Override
-    public void updateMovie(Movie movie) {
-        mMovieAppDatabase.movieDAO().updateMovie(movie);
+    public void updateMovie(final Movie movie) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                mMovieAppDatabase.movieDAO().updateMovie(movie);
+            }
+        });
     }
 
     /**
@@ -241,7 +388,12 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      */
     @Override
     public void deleteAllMovies() {
-        mMovieAppDatabase.movieDAO().deleteAll();
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                mMovieAppDatabase.movieDAO().deleteAll();
+            }
+        });
     }
 
     /**
@@ -250,8 +402,13 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      * @param movieId to delete it's trailers.
      */
     @Override
-    public void deleteMovieTrailers(int movieId) {
-        mMovieAppDatabase.movieDAO().deleteAllTrailers(movieId);
+    public void deleteMovieTrailers(final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                mMovieAppDatabase.movieDAO().deleteAllTrailers(movieId);
+            }
+        });
     }
 
     /**
@@ -260,7 +417,12 @@ public class MoviesLocalDataSource implements MoviesDataSource {
      * @param movieId to delete it's reviews.
      */
     @Override
-    public void deleteMovieReviews(int movieId) {
-        mMovieAppDatabase.movieDAO().deleteAllReviews(movieId);
+    public void deleteMovieReviews(final int movieId) {
+        mAppExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                mMovieAppDatabase.movieDAO().deleteAllReviews(movieId);
+            }
+        });
     }
 }
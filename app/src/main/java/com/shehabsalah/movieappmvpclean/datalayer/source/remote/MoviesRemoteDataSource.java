@@ -20,18 +20,17 @@ import android.support.annotation.NonNull;
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesDataSource;
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
 import com.shehabsalah.movieappmvpclean.datalayer.source.remote.apis.MovieApiConfig;
-import com.shehabsalah.movieappmvpclean.datalayer.source.remote.apis.ReviewsApiConfig;
-import com.shehabsalah.movieappmvpclean.datalayer.source.remote.apis.TrailersApiConfig;
+import com.shehabsalah.movieappmvpclean.datalayer.source.remote.apis.MovieDetailsApiConfig;
 import com.shehabsalah.movieappmvpclean.datalayer.source.remote.request.RequestHandler;
 import com.shehabsalah.movieappmvpclean.models.Movie;
-import com.shehabsalah.movieappmvpclean.models.MovieReviews;
-import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
 import com.shehabsalah.movieappmvpclean.presentationlayer.movieslist.MoviesSortType;
 import com.shehabsalah.movieappmvpclean.util.ApplicationClass;
 import com.shehabsalah.movieappmvpclean.util.Constants;
 
 import java.util.ArrayList;
 
+import retrofit2.Retrofit;
+
 /**
  * Created by shehabsalah on 1/25/18.
  * Implementation of the data source that calls the APIs via network connections.
@@ -40,8 +39,15 @@ import java.util.ArrayList;
 public class MoviesRemoteDataSource implements MoviesDataSource {
     private static MoviesRemoteDataSource INSTANCE;
 
+    private final MovieApiConfig mMovieApiConfig;
+    private final MovieDetailsApiConfig mMovieDetailsApiConfig;
+
     // Prevent direct instantiation.
     private MoviesRemoteDataSource() {
+        // The API interfaces are created once on the shared Retrofit instance.
+        Retrofit retrofit = RequestHandler.getClient();
+        mMovieApiConfig = retrofit.create(MovieApiConfig.class);
+        mMovieDetailsApiConfig = retrofit.create(MovieDetailsApiConfig.class);
     }
 
     public static MoviesRemoteDataSource getInstance() {
@@ -52,52 +58,70 @@ public class MoviesRemoteDataSource implements MoviesDataSource {
     }
 
     /**
-     * Load movies list that has type most popular.
+     * Load a page of the movies list that has type most popular.
      *
      * @param callback to notify back the {@link MoviesRepository} with the response result.
+     * @param page       number of the page to load.
+     * @param revalidate true to revalidate the cached response with the server.
      */
-    private void loadMostPopular(@NonNull MovieApiConfig movieApiConfig, @NonNull LoadMoviesCallback callback) {
+    private void loadMostPopular(@NonNull LoadMoviesCallback callback, int page, boolean revalidate) {
         // Execute the API and passing the callback which implemented in {@link MoviesRepository}.
         // By passing the call back to the execute method, when the server response return, callback
         // will be fired.
         RequestHandler.execute(
-                movieApiConfig.executePopular(Constants.API_KEY),
+                mMovieApiConfig.executePopular(Constants.API_KEY, page, RequestHandler.getCacheControl(revalidate)),
                 callback,
                 ApplicationClass.getAppContext()
         );
     }
 
     /**
-     * Load movies list that has type most popular.
+     * Load a page of the movies list that has type top rated.
      *
      * @param callback to notify back the {@link MoviesRepository} with the response result.
+     * @param page       number of the page to load.
+     * @param revalidate true to revalidate the cached response with the server.
      */
-    private void loadTopRated(@NonNull MovieApiConfig movieApiConfig, @NonNull LoadMoviesCallback callback) {
+    private void loadTopRated(@NonNull LoadMoviesCallback callback, int page, boolean revalidate) {
         // Execute the API and passing the callback which implemented in {@link MoviesRepository}.
         // By passing the call back to the execute method, when the server response return, callback
         // will be fired.
         RequestHandler.execute(
-                movieApiConfig.executeTopRated(Constants.API_KEY),
+                mMovieApiConfig.executeTopRated(Constants.API_KEY, page, RequestHandler.getCacheControl(revalidate)),
                 callback,
                 ApplicationClass.getAppContext()
         );
     }
 
     /**
-     * Load movies from server.
+     * Load the first page of movies from server.
      *
      * @param callback to notify back the {@link MoviesRepository} with the response result.
      * @param filter   movie type to load from server.
      */
     @Override
     public void getMovies(@NonNull LoadMoviesCallback callback, MoviesSortType filter) {
-        MovieApiConfig movieApiConfig = RequestHandler.getClient(Constants.BASE_URL, null).create(MovieApiConfig.class);
+        getMoviesPage(callback, filter, Constants.FIRST_PAGE, false);
+    }
+
+    /**
+     * Load a page of movies from server.
+     *
+     * @param callback   to notify back the {@link MoviesRepository} with the response result.
+     * @param filter     movie type to load from server.
+     * @param page       number of the page to load.
+     * @param revalidate true to revalidate the cached response with the server, used when the
+     *                   user asked for fresh data.
+     */
+    @Override
+    public void getMoviesPage(@NonNull LoadMoviesCallback callback, MoviesSortType filter, int page,
+                              boolean revalidate) {
         switch (filter) {
             case TOP_RATED:
-                loadTopRated(movieApiConfig, callback);
+                loadTopRated(callback, page, revalidate);
                 break;
             case MOST_POPULAR:
-                loadMostPopular(movieApiConfig, callback);
+                loadMostPopular(callback, page, revalidate);
                 break;
             default:
                 callback.onMoviesNotAvailable();
@@ -105,46 +129,42 @@ public class MoviesRemoteDataSource implements MoviesDataSource {
     }
 
     /**
-     * Load the movie trailers from server.
+     * Load the movie trailers and reviews from server in a single request.
      *
      * @param callback to notify back the {@link MoviesRepository} with the response result.
-     * @param movieId  to load it's trailers.
+     * @param movieId  to load it's trailers and reviews.
      */
     @Override
-    public void getTrailers(@NonNull LoadTrailersCallback callback, int movieId) {
-        TrailersApiConfig trailersApiConfig =
-                RequestHandler.getClient(Constants.BASE_URL + String.valueOf(movieId) + Constants.FILE_SEPARATOR, null)
-                        .create(TrailersApiConfig.class);
+    public void getMovieDetails(@NonNull LoadMovieDetailsCallback callback, int movieId) {
+        getMovieDetails(callback, movieId, false);
+    }
 
-        // Execute the API and passing the callback which implemented in {@link MoviesRepository}.
-        // By passing the call back to the execute method, when the server response return, callback
-        // will be fired.
+    /**
+     * Load the movie trailers and reviews from server in a single request.
+     *
+     * @param callback   to notify back the {@link MoviesRepository} with the response result.
+     * @param movieId    to load it's trailers and reviews.
+     * @param revalidate true to revalidate the cached response with the server, used when the
+     *                   user asked for fresh data.
+     */
+    @Override
+    public void getMovieDetails(@NonNull LoadMovieDetailsCallback callback, int movieId, boolean revalidate) {
         RequestHandler.execute(
-                trailersApiConfig.getMovieTrailers(Constants.API_KEY),
+                mMovieDetailsApiConfig.getMovieDetails(movieId, Constants.API_KEY, Constants.APPEND_DETAILS,
+                        RequestHandler.getCacheControl(revalidate)),
                 callback,
                 ApplicationClass.getAppContext()
         );
     }
 
     /**
-     * Load the movie reviews from server.
+     * Make the next request of the URL load the full response, even if the server data didn't
+     * change. The response validated by the 304 is read from the HTTP cache, not from server.
      *
-     * @param callback to notify back the {@link MoviesRepository} with the response result.
-     * @param movieId  to load it's reviews.
+     * @param url the request URL that was answered with 304 (Not Modified).
      */
     @Override
-    public void getReviews(@NonNull LoadReviewsCallback callback, int movieId) {
-        ReviewsApiConfig reviewsApiConfig =
-                RequestHandler.getClient(Constants.BASE_URL + String.valueOf(movieId) + Constants.FILE_SEPARATOR, null)
-                        .create(ReviewsApiConfig.class);
-
-        // Execute the API and passing the callback which implemented in {@link MoviesRepository}.
-        // By passing the call back to the execute method, when the server response return, callback
-        // will be fired.
-        RequestHandler.execute(
-                reviewsApiConfig.getMovieReviews(Constants.API_KEY),
-                callback,
-                ApplicationClass.getAppContext()
-        );
+    public void requireFullResponse(String url) {
+        RequestHandler.requireFullResponse(url);
     }
 }
@@ -20,6 +20,7 @@ import com.shehabsalah.movieappmvpclean.util.Constants;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Query;
 
 /**
@@ -29,8 +30,12 @@ import retrofit2.http.Query;
 public interface MovieApiConfig {
 
     @GET(Constants.PAGE_POPULAR)
-    Call<MoviesResponse> executePopular(@Query(Constants.PARAM_API_KEY) String apiKey);
+    Call<MoviesResponse> executePopular(@Query(Constants.PARAM_API_KEY) String apiKey,
+                                        @Query(Constants.PARAM_PAGE) int page,
+                                        @Header(Constants.HEADER_CACHE_CONTROL) String cacheControl);
 
     @GET(Constants.PAGE_TOP_RATED)
-    Call<MoviesResponse> executeTopRated(@Query(Constants.PARAM_API_KEY) String apiKey);
+    Call<MoviesResponse> executeTopRated(@Query(Constants.PARAM_API_KEY) String apiKey,
+                                         @Query(Constants.PARAM_PAGE) int page,
+                                         @Header(Constants.HEADER_CACHE_CONTROL) String cacheControl);
 }
@@ -15,20 +15,24 @@
  */
 package com.shehabsalah.movieappmvpclean.datalayer.source.remote.apis;
 
-import com.shehabsalah.movieappmvpclean.models.response.ReviewsResponse;
+import com.shehabsalah.movieappmvpclean.models.response.MovieDetailsResponse;
 import com.shehabsalah.movieappmvpclean.util.Constants;
-
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Path;
 import retrofit2.http.Query;
 
 /**
- * Created by ShehabSalah on 1/12/18.
+ * Movie details API, the trailers and reviews are appended to the same response.
  */
 
-public interface ReviewsApiConfig {
+public interface MovieDetailsApiConfig {
 
-    @GET(Constants.PAGE_REVIEWS)
-    Call<ReviewsResponse> getMovieReviews(@Query(Constants.PARAM_API_KEY) String apiKey);
+    @GET(Constants.PAGE_MOVIE_DETAILS)
+    Call<MovieDetailsResponse> getMovieDetails(@Path(Constants.PARAM_MOVIE_ID) int movieId,
+                                               @Query(Constants.PARAM_API_KEY) String apiKey,
+                                               @Query(Constants.PARAM_APPEND_TO_RESPONSE) String append,
+                                               @Header(Constants.HEADER_CACHE_CONTROL) String cacheControl);
 
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.response.MovieDetailsResponse;
+import com.shehabsalah.movieappmvpclean.models.response.MoviesResponse;
+import com.shehabsalah.movieappmvpclean.models.response.ReviewsResponse;
+import com.shehabsalah.movieappmvpclean.models.response.TrailersResponse;
+
+import java.io.IOException;
+
+/**
+ * The single Gson instance used to decode the API responses. The responses are decoded by
+ * streaming type adapters instead of reflection, the fields that aren't stored are skipped.
+ */
+
+public final class ApiGson {
+    private static Gson INSTANCE;
+
+    // Prevent direct instantiation.
+    private ApiGson() {
+    }
+
+    public static synchronized Gson getInstance() {
+        if (INSTANCE == null) {
+            MovieTypeAdapter movieAdapter = new MovieTypeAdapter();
+            MovieTrailersTypeAdapter trailersAdapter = new MovieTrailersTypeAdapter();
+            MovieReviewsTypeAdapter reviewsAdapter = new MovieReviewsTypeAdapter();
+            TrailersResponseTypeAdapter trailersResponseAdapter = new TrailersResponseTypeAdapter(trailersAdapter);
+            ReviewsResponseTypeAdapter reviewsResponseAdapter = new ReviewsResponseTypeAdapter(reviewsAdapter);
+            INSTANCE = new GsonBuilder()
+                    .registerTypeAdapter(Movie.class, movieAdapter)
+                    .registerTypeAdapter(MovieTrailers.class, trailersAdapter)
+                    .registerTypeAdapter(MovieReviews.class, reviewsAdapter)
+                    .registerTypeAdapter(MoviesResponse.class, new MoviesResponseTypeAdapter(movieAdapter))
+                    .registerTypeAdapter(TrailersResponse.class, trailersResponseAdapter)
+                    .registerTypeAdapter(ReviewsResponse.class, reviewsResponseAdapter)
+                    .registerTypeAdapter(MovieDetailsResponse.class,
+                            new MovieDetailsResponseTypeAdapter(trailersResponseAdapter, reviewsResponseAdapter))
+                    .create();
+        }
+        return INSTANCE;
+    }
+
+    @Nullable
+    static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    static int nextInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    static float nextFloat(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return (float) in.nextDouble();
+    }
+}
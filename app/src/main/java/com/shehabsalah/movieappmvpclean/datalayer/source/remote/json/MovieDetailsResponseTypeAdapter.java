@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shehabsalah.movieappmvpclean.models.response.MovieDetailsResponse;
+import com.shehabsalah.movieappmvpclean.models.response.ReviewsResponse;
+import com.shehabsalah.movieappmvpclean.models.response.TrailersResponse;
+import com.shehabsalah.movieappmvpclean.util.Constants;
+
+import java.io.IOException;
+
+/**
+ * Streaming decoder and encoder of the movie details with the appended trailers and reviews, the movie
+ * fields are skipped because the movie is already saved from the movies lists.
+ */
+
+class MovieDetailsResponseTypeAdapter extends TypeAdapter<MovieDetailsResponse> {
+    private final TypeAdapter<TrailersResponse> mTrailersAdapter;
+    private final TypeAdapter<ReviewsResponse> mReviewsAdapter;
+
+    MovieDetailsResponseTypeAdapter(TypeAdapter<TrailersResponse> trailersAdapter,
+                                    TypeAdapter<ReviewsResponse> reviewsAdapter) {
+        mTrailersAdapter = trailersAdapter;
+        mReviewsAdapter = reviewsAdapter;
+    }
+
+    @Override
+    public MovieDetailsResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        MovieDetailsResponse response = new MovieDetailsResponse(null, null);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case Constants.PAGE_TRAILERS:
+                    response.setVideos(mTrailersAdapter.read(in));
+                    break;
+                case Constants.PAGE_REVIEWS:
+                    response.setReviews(mReviewsAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return response;
+    }
+
+    @Override
+    public void write(JsonWriter out, MovieDetailsResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        TrailersResponse trailersResponse = new TrailersResponse(null, null);
+        trailersResponse.setResults(response.getTrailers());
+        ReviewsResponse reviewsResponse = new ReviewsResponse(null, null);
+        reviewsResponse.setResults(response.getReviews());
+        out.beginObject();
+        out.name(Constants.PAGE_TRAILERS);
+        mTrailersAdapter.write(out, trailersResponse);
+        out.name(Constants.PAGE_REVIEWS);
+        mReviewsAdapter.write(out, reviewsResponse);
+        out.endObject();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+
+import java.io.IOException;
+
+/**
+ * Streaming decoder and encoder of a movie review, the fields that aren't stored are skipped.
+ */
+
+class MovieReviewsTypeAdapter extends TypeAdapter<MovieReviews> {
+
+    @Override
+    public MovieReviews read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String reviewId = null;
+        String author = null;
+        String content = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    reviewId = ApiGson.nextString(in);
+                    break;
+                case "author":
+                    author = ApiGson.nextString(in);
+                    break;
+                case "content":
+                    content = ApiGson.nextString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new MovieReviews(0, reviewId, author, content, 0);
+    }
+
+    @Override
+    public void write(JsonWriter out, MovieReviews review) throws IOException {
+        if (review == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(review.getReviewId());
+        out.name("author").value(review.getAuthor());
+        out.name("content").value(review.getContent());
+        out.endObject();
+    }
+}
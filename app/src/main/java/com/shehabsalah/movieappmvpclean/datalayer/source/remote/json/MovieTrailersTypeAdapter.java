@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+
+import java.io.IOException;
+
+/**
+ * Streaming decoder and encoder of a movie trailer, the fields that aren't stored are skipped.
+ */
+
+class MovieTrailersTypeAdapter extends TypeAdapter<MovieTrailers> {
+
+    @Override
+    public MovieTrailers read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String trailerId = null;
+        String key = null;
+        String name = null;
+        int size = 0;
+        String type = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    trailerId = ApiGson.nextString(in);
+                    break;
+                case "key":
+                    key = ApiGson.nextString(in);
+                    break;
+                case "name":
+                    name = ApiGson.nextString(in);
+                    break;
+                case "size":
+                    size = ApiGson.nextInt(in);
+                    break;
+                case "type":
+                    type = ApiGson.nextString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new MovieTrailers(0, trailerId, key, name, size, type, 0);
+    }
+
+    @Override
+    public void write(JsonWriter out, MovieTrailers trailer) throws IOException {
+        if (trailer == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(trailer.getTrailerId());
+        out.name("key").value(trailer.getKey());
+        out.name("name").value(trailer.getName());
+        out.name("size").value(trailer.getSize());
+        out.name("type").value(trailer.getType());
+        out.endObject();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.util.Constants;
+
+import java.io.IOException;
+
+/**
+ * Streaming decoder and encoder of a movie of the movies lists. The fields that aren't stored, like
+ * {@code adult}, {@code video} and {@code genre_ids}, are skipped without being decoded, the stored
+ * fields are encoded with their API names.
+ */
+
+class MovieTypeAdapter extends TypeAdapter<Movie> {
+
+    @Override
+    public Movie read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        int movieId = 0;
+        String posterPath = null;
+        String overview = null;
+        String releaseDate = null;
+        String originalTitle = null;
+        String originalLanguage = null;
+        String title = null;
+        String backdropPath = null;
+        float popularity = 0;
+        int voteCount = 0;
+        float voteAverage = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    movieId = ApiGson.nextInt(in);
+                    break;
+                case "poster_path":
+                    posterPath = ApiGson.nextString(in);
+                    break;
+                case "overview":
+                    overview = ApiGson.nextString(in);
+                    break;
+                case "release_date":
+                    releaseDate = ApiGson.nextString(in);
+                    break;
+                case "original_title":
+                    originalTitle = ApiGson.nextString(in);
+                    break;
+                case "original_language":
+                    originalLanguage = ApiGson.nextString(in);
+                    break;
+                case "title":
+                    title = ApiGson.nextString(in);
+                    break;
+                case "backdrop_path":
+                    backdropPath = ApiGson.nextString(in);
+                    break;
+                case "popularity":
+                    popularity = ApiGson.nextFloat(in);
+                    break;
+                case "vote_count":
+                    voteCount = ApiGson.nextInt(in);
+                    break;
+                case "vote_average":
+                    voteAverage = ApiGson.nextFloat(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Movie(0, movieId, posterPath, overview, releaseDate, originalTitle, originalLanguage,
+                title, backdropPath, popularity, voteCount, voteAverage, Constants.FAVORITE_NOT_ACTIVE, null);
+    }
+
+    @Override
+    public void write(JsonWriter out, Movie movie) throws IOException {
+        if (movie == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(movie.getMovieId());
+        out.name("poster_path").value(movie.getPosterPath());
+        out.name("overview").value(movie.getOverview());
+        out.name("release_date").value(movie.getReleaseDate());
+        out.name("original_title").value(movie.getOriginalTitle());
+        out.name("original_language").value(movie.getOriginalLanguage());
+        out.name("title").value(movie.getTitle());
+        out.name("backdrop_path").value(movie.getBackdropPath());
+        out.name("popularity").value(movie.getPopularity());
+        out.name("vote_count").value(movie.getVoteCount());
+        out.name("vote_average").value(movie.getVoteAverage());
+        out.endObject();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.models.response.MoviesResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Streaming decoder and encoder of a page of a movies list.
+ */
+
+class MoviesResponseTypeAdapter extends TypeAdapter<MoviesResponse> {
+    private final TypeAdapter<Movie> mMovieAdapter;
+
+    MoviesResponseTypeAdapter(TypeAdapter<Movie> movieAdapter) {
+        mMovieAdapter = movieAdapter;
+    }
+
+    @Override
+    public MoviesResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        MoviesResponse response = new MoviesResponse(null, null);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "page":
+                    response.setPage(ApiGson.nextInt(in));
+                    break;
+                case "total_pages":
+                    response.setTotalPages(ApiGson.nextInt(in));
+                    break;
+                case "total_results":
+                    response.setTotalResults(ApiGson.nextInt(in));
+                    break;
+                case "results":
+                    response.setResults(readResults(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return response;
+    }
+
+    private ArrayList<Movie> readResults(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ArrayList<Movie> movies = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext())
+            movies.add(mMovieAdapter.read(in));
+        in.endArray();
+        return movies;
+    }
+
+    @Override
+    public void write(JsonWriter out, MoviesResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("page").value(response.getPage());
+        out.name("total_pages").value(response.getTotalPages());
+        out.name("total_results").value(response.getTotalResults());
+        out.name("results");
+        writeResults(out, response.getResults());
+        out.endObject();
+    }
+
+    private void writeResults(JsonWriter out, ArrayList<Movie> movies) throws IOException {
+        if (movies == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (Movie movie : movies)
+            mMovieAdapter.write(out, movie);
+        out.endArray();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+import com.shehabsalah.movieappmvpclean.models.response.ReviewsResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Streaming decoder and encoder of the reviews list of a movie.
+ */
+
+class ReviewsResponseTypeAdapter extends TypeAdapter<ReviewsResponse> {
+    private final TypeAdapter<MovieReviews> mReviewsAdapter;
+
+    ReviewsResponseTypeAdapter(TypeAdapter<MovieReviews> reviewsAdapter) {
+        mReviewsAdapter = reviewsAdapter;
+    }
+
+    @Override
+    public ReviewsResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        ReviewsResponse response = new ReviewsResponse(null, null);
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("results".equals(in.nextName()))
+                response.setResults(readResults(in));
+            else
+                in.skipValue();
+        }
+        in.endObject();
+        return response;
+    }
+
+    private ArrayList<MovieReviews> readResults(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ArrayList<MovieReviews> reviews = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext())
+            reviews.add(mReviewsAdapter.read(in));
+        in.endArray();
+        return reviews;
+    }
+
+    @Override
+    public void write(JsonWriter out, ReviewsResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("results");
+        writeResults(out, response.getResults());
+        out.endObject();
+    }
+
+    private void writeResults(JsonWriter out, ArrayList<MovieReviews> reviews) throws IOException {
+        if (reviews == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (MovieReviews review : reviews)
+            mReviewsAdapter.write(out, review);
+        out.endArray();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.response.TrailersResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Streaming decoder and encoder of the trailers list of a movie.
+ */
+
+class TrailersResponseTypeAdapter extends TypeAdapter<TrailersResponse> {
+    private final TypeAdapter<MovieTrailers> mTrailersAdapter;
+
+    TrailersResponseTypeAdapter(TypeAdapter<MovieTrailers> trailersAdapter) {
+        mTrailersAdapter = trailersAdapter;
+    }
+
+    @Override
+    public TrailersResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        TrailersResponse response = new TrailersResponse(null, null);
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("results".equals(in.nextName()))
+                response.setResults(readResults(in));
+            else
+                in.skipValue();
+        }
+        in.endObject();
+        return response;
+    }
+
+    private ArrayList<MovieTrailers> readResults(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ArrayList<MovieTrailers> trailers = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext())
+            trailers.add(mTrailersAdapter.read(in));
+        in.endArray();
+        return trailers;
+    }
+
+    @Override
+    public void write(JsonWriter out, TrailersResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("results");
+        writeResults(out, response.getResults());
+        out.endObject();
+    }
+
+    private void writeResults(JsonWriter out, ArrayList<MovieTrailers> trailers) throws IOException {
+        if (trailers == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (MovieTrailers trailer : trailers)
+            mTrailersAdapter.write(out, trailer);
+        out.endArray();
+    }
+}
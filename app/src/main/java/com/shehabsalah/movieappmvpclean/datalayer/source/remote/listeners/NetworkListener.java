@@ -25,4 +25,13 @@ public interface NetworkListener {
     void noInternetConnection();
     void onResponse(String TAG, Object response);
     void onErrorResponse(String TAG, GeneralResponse response);
+
+    /**
+     * Fired instead of {@link #onResponse(String, Object)} when the server answers 304 (Not Modified),
+     * the data saved from the last response of the URL is still valid.
+     *
+     * @param TAG request tag.
+     * @param url the request URL.
+     */
+    default void onNotModified(String TAG, String url){}
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.request;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that sets how long the responses of each endpoint stay fresh in the HTTP
+ * cache, the API doesn't send cache headers that we can rely on.
+ * While a response is fresh, the same call is answered from the cache without touching the network.
+ */
+
+class CachePolicyInterceptor implements Interceptor {
+    // The movies lists change during the day, the trailers and reviews of a movie rarely change.
+    private static final int LIST_MAX_AGE_MINUTES   = 10;
+    private static final int DETAILS_MAX_AGE_HOURS  = 24;
+
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final String HEADER_PRAGMA        = "Pragma";
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!response.isSuccessful() || !"GET".equals(request.method()))
+            return response;
+
+        return response.newBuilder()
+                .removeHeader(HEADER_PRAGMA)
+                .header(HEADER_CACHE_CONTROL, getCacheControl(request).toString())
+                .build();
+    }
+
+    /**
+     * Get the cache policy of the endpoint called by the request.
+     *
+     * @param request the request sent to the server.
+     * @return CacheControl with the max age of the endpoint response.
+     */
+    private CacheControl getCacheControl(Request request) {
+        List<String> segments = request.url().pathSegments();
+        String endpoint = segments.isEmpty() ? "" : segments.get(segments.size() - 1);
+        // The movie details endpoint ends with the movie id.
+        if (isMovieId(endpoint))
+            return new CacheControl.Builder().maxAge(DETAILS_MAX_AGE_HOURS, TimeUnit.HOURS).build();
+        return new CacheControl.Builder().maxAge(LIST_MAX_AGE_MINUTES, TimeUnit.MINUTES).build();
+    }
+
+    private static boolean isMovieId(String segment) {
+        if (segment.isEmpty())
+            return false;
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+}
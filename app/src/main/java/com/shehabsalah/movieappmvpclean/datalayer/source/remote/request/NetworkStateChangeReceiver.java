@@ -90,6 +90,15 @@ public class NetworkStateChangeReceiver extends BroadcastReceiver {
         }
     }
 
+    /**
+     * @param context to get the connectivity service.
+     * @return true if the active network is metered, e.g. mobile data or a metered hotspot.
+     */
+    public static boolean isMetered(Context context) {
+        ConnectivityManager conMan = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        return conMan != null && conMan.isActiveNetworkMetered();
+    }
+
     public interface ConnectivityReceiverListener {
         void isOPenWifi(boolean isConnected);
     }
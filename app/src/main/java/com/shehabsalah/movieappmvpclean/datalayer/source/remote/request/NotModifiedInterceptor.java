@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.request;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Application interceptor that reports the conditional GET results to the caller.
+ * The HTTP cache stores the ETag / Last-Modified validators of each URL and sends them as
+ * If-None-Match / If-Modified-Since once the cached response is stale. When the server answers 304
+ * the cache hands the cached body back as a 200 response, this interceptor turns it back into an
+ * empty 304 response, so the body isn't parsed and the saved data isn't written again.
+ * <p>
+ * If the caller doesn't have the data of a 304 response saved anymore, it asks for the full
+ * response of the URL, which is served with its body from the HTTP cache without a new network
+ * call.
+ */
+
+class NotModifiedInterceptor implements Interceptor {
+    // URLs that their next request must return the full body, kept from the HTTP cache.
+    private final Set<String> mFullResponseUrls = Collections.synchronizedSet(new HashSet<String>());
+
+    /**
+     * Keep the body of the next response of the URL, it's used when the data of a 304 response
+     * isn't saved anymore. The body is read from the HTTP cache, which the 304 response has just
+     * validated, or from the network if the cache entry was evicted meanwhile.
+     *
+     * @param url the request URL.
+     */
+    void requireFullResponse(String url) {
+        mFullResponseUrls.add(url);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (mFullResponseUrls.remove(request.url().toString())) {
+            Response cached = chain.proceed(request.newBuilder().cacheControl(CacheControl.FORCE_CACHE).build());
+            if (cached.code() != RequestHandler.HTTP_UNSATISFIABLE_REQUEST)
+                return cached;
+            cached.close();
+            return chain.proceed(request.newBuilder().cacheControl(CacheControl.FORCE_NETWORK).build());
+        }
+
+        Response response = chain.proceed(request);
+        Response networkResponse = response.networkResponse();
+        if (response.cacheResponse() == null || networkResponse == null
+                || networkResponse.code() != RequestHandler.HTTP_NOT_MODIFIED)
+            return response;
+
+        response.close();
+        return response.newBuilder()
+                .code(RequestHandler.HTTP_NOT_MODIFIED)
+                .message(networkResponse.message())
+                .body(ResponseBody.create(null, new byte[0]))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.request;
+
+import com.shehabsalah.movieappmvpclean.util.ApplicationClass;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that serves the cached responses, even the stale ones, when the device
+ * is offline or when the network call fails.
+ * If the response isn't cached, OkHttp answers with 504 (Unsatisfiable Request).
+ */
+
+class OfflineCacheInterceptor implements Interceptor {
+    // The oldest response that can be shown to the user while offline.
+    private static final int MAX_STALE_DAYS = 7;
+
+    private static final CacheControl FORCE_STALE_CACHE = new CacheControl.Builder()
+            .onlyIfCached()
+            .maxStale(MAX_STALE_DAYS, TimeUnit.DAYS)
+            .build();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!RequestHandler.checkInternetConnection(ApplicationClass.getAppContext()))
+            return chain.proceed(forceCache(request));
+
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            // stale-if-error: fall back to the cached response, or fail with the original error.
+            Response cached = chain.proceed(forceCache(request));
+            if (cached.code() == RequestHandler.HTTP_UNSATISFIABLE_REQUEST) {
+                cached.close();
+                throw e;
+            }
+            return cached;
+        }
+    }
+
+    private Request forceCache(Request request) {
+        return request.newBuilder().cacheControl(FORCE_STALE_CACHE).build();
+    }
+}
@@ -20,11 +20,21 @@ import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 import android.util.Log;
 
+import com.shehabsalah.movieappmvpclean.datalayer.source.remote.json.ApiGson;
 import com.shehabsalah.movieappmvpclean.datalayer.source.remote.listeners.NetworkListener;
 import com.shehabsalah.movieappmvpclean.models.response.GeneralResponse;
-import java.util.HashMap;
+import com.shehabsalah.movieappmvpclean.util.AppExecutors;
+import com.shehabsalah.movieappmvpclean.util.ApplicationClass;
+import com.shehabsalah.movieappmvpclean.util.Constants;
+import com.shehabsalah.movieappmvpclean.util.HttpLogger;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Retrofit;
@@ -38,39 +48,63 @@ public class RequestHandler {
 
     private static final String TAG = "RequestHandler";
 
+    // One client and one Retrofit instance for the whole process, so all the calls share the same
+    // connection pool and dispatcher, and the connections to the API are reused across calls.
+    private static OkHttpClient sHttpClient;
+    private static Retrofit sRetrofit;
+
+    // The code returned by OkHttp when the request is forced to the cache and the response isn't cached.
+    static final int HTTP_UNSATISFIABLE_REQUEST = 504;
+    // The code returned by the server when the data didn't change since the cached response.
+    static final int HTTP_NOT_MODIFIED = 304;
+
+    private static final NotModifiedInterceptor sNotModifiedInterceptor = new NotModifiedInterceptor();
+
+    // Request cache control that makes the HTTP cache revalidate its response with the server by a
+    // conditional request with the saved ETag, even if the response is still fresh.
+    private static final String CACHE_CONTROL_REVALIDATE =
+            new CacheControl.Builder().maxAge(0, TimeUnit.SECONDS).build().toString();
+
+    private static final String HTTP_CACHE_DIR  = "http_cache";
+    private static final long HTTP_CACHE_SIZE   = 10 * 1024 * 1024; // 10 MiB
+
     public static <T> void execute(Call<T> call, NetworkListener networkListener, Context context) {
         execute(TAG, call, networkListener, context);
     }
 
-    public static <T> void execute(final String TAG, Call<T> call, final NetworkListener networkListener, Context context) {
-        //check if there is internet connection or not.
-        if (checkInternetConnection(context)) {
-
-            // if there is internet connection
+    public static <T> void execute(final String TAG, final Call<T> call, final NetworkListener networkListener, final Context context) {
+        // The call is fired even without internet connection, so it can be answered from the HTTP cache.
+        if (HttpLogger.isEnabled())
             Log.d(TAG, call.request().toString());
-            // Fire the interface implementation and get the server response
-            call.enqueue(new Callback<T>() {
-                @Override
-                public void onResponse(Call<T> call, retrofit2.Response<T> response) {
-                    //If the request success! return the response body to the Activity.
-                    if (response.errorBody() == null && response.body() != null){
-                        networkListener.onResponse(TAG, response.body());
-                    }else{
-                        networkListener.onErrorResponse(TAG, new GeneralResponse("401", "Invalid API key"));
-                    }
+        // Fire the interface implementation and get the server response
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, retrofit2.Response<T> response) {
+                //If the request success! return the response body to the Activity.
+                if (response.errorBody() == null && response.body() != null){
+                    networkListener.onResponse(TAG, response.body());
+                }else if (response.code() == HTTP_NOT_MODIFIED){
+                    // the saved data is still valid, the response has no body.
+                    networkListener.onNotModified(TAG, call.request().url().toString());
+                }else if (response.code() == HTTP_UNSATISFIABLE_REQUEST){
+                    // offline and the response isn't cached.
+                    networkListener.noInternetConnection();
+                }else{
+                    networkListener.onErrorResponse(TAG, new GeneralResponse("401", "Invalid API key"));
                 }
-
-                @Override
-                public void onFailure(Call<T> call, Throwable t) {
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                if (!checkInternetConnection(context)) {
+                    // if there is no internet connection call noInternetConnection in the Activity to notify the user.
+                    networkListener.noInternetConnection();
+                } else {
                     //If the request Failed! return the error response to the Activity.
                     networkListener.onErrorResponse(TAG, new GeneralResponse("404", "Error"));
                 }
-            });
-
-        } else {
-            // if there is no internet connection call noInternetConnection in the Activity to notify the user.
-            networkListener.noInternetConnection();
-        }
+            }
+        });
     }
 
     /**
@@ -89,49 +123,86 @@ public class RequestHandler {
         return activeNetworkInfo != null && activeNetworkInfo.isConnected();
     }
 
+    /**
+     * Get the Cache-Control header of an API request.
+     *
+     * @param revalidate true if the user asked for fresh data, the cached response is then
+     *                   revalidated with the server instead of being served while it's fresh.
+     * @return the header value, or null to send the request without the header.
+     * */
+    public static String getCacheControl(boolean revalidate) {
+        return revalidate ? CACHE_CONTROL_REVALIDATE : null;
+    }
+
+    /**
+     * Make the next request of the URL return the full response instead of 304 (Not Modified),
+     * the body is read from the HTTP cache. Used when the data of the URL isn't saved anymore.
+     *
+     * @param url the request URL received by {@link NetworkListener#onNotModified(String, String)}.
+     * */
+    public static void requireFullResponse(String url) {
+        sNotModifiedInterceptor.requireFullResponse(url);
+    }
+
+    /**
+     * Get the shared OkHttp client, it's built only once on the first call.
+     *
+     * @return OkHttpClient used by all the API calls.
+     * */
+    public static synchronized OkHttpClient getHttpClient() {
+        if (sHttpClient == null) {
+            // The API responses are kept in a size bounded disk cache, fresh responses are served
+            // without network and the stale ones are served while offline.
+            Cache cache = new Cache(new File(ApplicationClass.getAppContext().getCacheDir(), HTTP_CACHE_DIR),
+                    HTTP_CACHE_SIZE);
+
+            // The calls run on the shared network executor, the responses are delivered by Retrofit on
+            // the main thread.
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .dispatcher(new Dispatcher(AppExecutors.getInstance().networkIO()))
+                    .cache(cache)
+                    .addInterceptor(sNotModifiedInterceptor)
+                    .addInterceptor(new OfflineCacheInterceptor())
+                    .addNetworkInterceptor(new CachePolicyInterceptor());
+
+            /**
+             * An interceptor is used to modify each request before it is performed and alters the request header.
+             * In our case we use the httpLogger which allow us to track the url call and the server
+             * response, its level is set per build type and it's not added in release builds.
+             * */
+            HttpLogger httpLogger = HttpLogger.create(TAG);
+            if (httpLogger != null)
+                builder.addInterceptor(httpLogger);
+            sHttpClient = builder.build();
+        }
+        return sHttpClient;
+    }
+
     /**
      * To work with Retrofit you need basically three classes:
      * 1- Model class which is used to map the JSON data to
      * 2- Interfaces which defines the possible HTTP operations
      * 3- Retrofit.Builder class - Instance which uses the interface and the Builder API which allows
      * defining the URL end point for the HTTP operation.
+     *
+     * The Retrofit instance is built only once on the shared client and the {@link Constants#BASE_URL},
+     * the APIs that need a movie id take it as a path parameter.
+     *
+     * @return Retrofit used to create all the API interfaces.
      * */
-    public static Retrofit getClient(String baseUrl, HashMap<String, String> headers) {
-        /**
-         * An interceptor is used to modify each request before it is performed and alters the request header.
-         * It can be used to adds the credentials, if you request your user details from the server
-         * and if the request need more calls that require you to authenticate, you can use an interceptor for this.
-         * In our case we use the loggingInterceptor which allow us to track the user input, url call
-         * and the server response.
-         *
-         * To add an interceptor, you have to use the:
-         * okhttp3.OkHttpClient.Builder.addInterceptor(Interceptor) method on the OkHttp Builder.
-         * */
-
-        OkHttpClient.Builder client = new OkHttpClient.Builder();
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        client.addInterceptor(loggingInterceptor);
-        /**
-         * (HttpLoggingInterceptor) An OkHttp interceptor which logs HTTP request and response data.
-         * The logs generated by this interceptor when using the HEADERS or BODY levels has the potential
-         * to leak sensitive information such as "Authorization" or "Cookie" headers and the contents of
-         * request and response bodies.
-         * */
-        return new Retrofit.Builder()
-                .baseUrl(baseUrl)
-                /**
-                 * The created OkHttp client has to be added to your Retrofit client with the
-                 * retrofit2.Retrofit.Builder.client(OkHttpClient) method.
-                 * */
-                .client(client.build())
-                /**
-                 * Interface which uses Gson for its deserialization.
-                 * With this adapter being applied the Retrofit interfaces are able to return JSON files as
-                 * class <LoginResponse>
-                 * */
-                .addConverterFactory(GsonConverterFactory.create()).build();
-
-                // NOTE:: this retrofit missing the create() method!
+    public static synchronized Retrofit getClient() {
+        if (sRetrofit == null) {
+            sRetrofit = new Retrofit.Builder()
+                    .baseUrl(Constants.BASE_URL)
+                    .client(getHttpClient())
+                    /**
+                     * Interface which uses Gson for its deserialization.
+                     * With this adapter being applied the Retrofit interfaces are able to return JSON files as
+                     * the response classes. The shared Gson decodes them with streaming type adapters.
+                     * */
+                    .addConverterFactory(GsonConverterFactory.create(ApiGson.getInstance()))
+                    .build();
+        }
+        return sRetrofit;
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.sync;
+
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesDataSource;
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.response.GeneralResponse;
+import com.shehabsalah.movieappmvpclean.presentationlayer.movieslist.MoviesSortType;
+import com.shehabsalah.movieappmvpclean.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+
+/**
+ * One run of the catalogue sync. The most popular and top rated lists are refreshed together,
+ * then the trailers and reviews of the favorites and of the first movies of each list are
+ * refreshed one movie at a time. Everything is written through the {@link MoviesRepository}, so
+ * the app opens to the saved data without waiting for the network.
+ * <p>
+ * The sync runs on the main thread like the repository callbacks, the listener is notified once
+ * the queued database writes are done.
+ */
+
+class CatalogueSync {
+    // Number of movies of each list that get their details refreshed.
+    static final int DETAILS_PER_LIST = 10;
+
+    interface Listener {
+        void onSyncFinished();
+    }
+
+    private final MoviesRepository mRepository;
+    private final Listener mListener;
+    private final LinkedHashSet<Integer> mDetailsQueue = new LinkedHashSet<>();
+    private int mPendingLists;
+    private boolean mCancelled;
+
+    CatalogueSync(MoviesRepository repository, Listener listener) {
+        mRepository = repository;
+        mListener = listener;
+    }
+
+    void start() {
+        mPendingLists = 3;
+        refreshList(MoviesSortType.MOST_POPULAR);
+        refreshList(MoviesSortType.TOP_RATED);
+        // The favorites are only saved locally, they are read to refresh their details.
+        loadList(MoviesSortType.FAVORITES, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Stop the sync, the running request is completed but nothing new is started.
+     */
+    void cancel() {
+        mCancelled = true;
+    }
+
+    private void refreshList(MoviesSortType filter) {
+        // The refreshed list is revalidated with the server, not served from the HTTP cache.
+        mRepository.refreshData();
+        loadList(filter, DETAILS_PER_LIST, true);
+    }
+
+    /**
+     * @param filter       the list to load.
+     * @param detailsCount number of the first movies of the list to refresh their details.
+     * @param refresh      true if the list is loaded from the server, the saved movies are
+     *                     delivered first then the step finishes with the server result.
+     */
+    private void loadList(MoviesSortType filter, final int detailsCount, final boolean refresh) {
+        mRepository.getMovies(new SyncStep() {
+            private ArrayList<Movie> mMovies;
+
+            @Override
+            public void onMoviesLoaded(ArrayList<Movie> movies) {
+                // The saved movies come first, then the refreshed movies if they changed.
+                mMovies = movies;
+                if (!refresh)
+                    finishStep();
+            }
+
+            @Override
+            void onStepFinished() {
+                if (mMovies != null)
+                    for (int i = 0; i < mMovies.size() && i < detailsCount; i++)
+                        mDetailsQueue.add(mMovies.get(i).getMovieId());
+                if (--mPendingLists == 0)
+                    refreshNextDetails();
+            }
+        }, filter);
+    }
+
+    private void refreshNextDetails() {
+        if (mCancelled || mDetailsQueue.isEmpty()) {
+            finish();
+            return;
+        }
+        Integer movieId = mDetailsQueue.iterator().next();
+        mDetailsQueue.remove(movieId);
+        // The details stay fresh in the HTTP cache longer than the sync period, so they are
+        // revalidated with the server instead of being read from the cache.
+        mRepository.refreshMovieDetails(new SyncStep() {
+            @Override
+            void onStepFinished() {
+                refreshNextDetails();
+            }
+        }, movieId);
+    }
+
+    private void finish() {
+        // The disk executor runs in order, so this task runs after every queued write.
+        final AppExecutors appExecutors = AppExecutors.getInstance();
+        appExecutors.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                appExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        mListener.onSyncFinished();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Callback of one sync step, the step finishes once on its first final result.
+     */
+    private abstract static class SyncStep implements MoviesDataSource.LoadMoviesCallback,
+            MoviesDataSource.LoadMovieDetailsCallback {
+        private boolean mFinished;
+
+        abstract void onStepFinished();
+
+        void finishStep() {
+            if (mFinished)
+                return;
+            mFinished = true;
+            onStepFinished();
+        }
+
+        @Override
+        public void onMoviesLoaded(ArrayList<Movie> movies) {
+        }
+
+        @Override
+        public void onMoviesNotAvailable() {
+            finishStep();
+        }
+
+        @Override
+        public void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews) {
+            finishStep();
+        }
+
+        @Override
+        public void onMovieDetailsNotAvailable() {
+            finishStep();
+        }
+
+        @Override
+        public void noInternetConnection() {
+            finishStep();
+        }
+
+        @Override
+        public void onResponse(String TAG, Object response) {
+            finishStep();
+        }
+
+        @Override
+        public void onNotModified(String TAG, String url) {
+            finishStep();
+        }
+
+        @Override
+        public void onErrorResponse(String TAG, GeneralResponse response) {
+            finishStep();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.sync;
+
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
+
+/**
+ * Job that runs the {@link CatalogueSync}, scheduled by {@link CatalogueSyncScheduler}.
+ */
+
+public class CatalogueSyncJobService extends JobService {
+    private CatalogueSync mSync;
+
+    @Override
+    public boolean onStartJob(final JobParameters params) {
+        mSync = new CatalogueSync(MoviesRepository.getInstance(), new CatalogueSync.Listener() {
+            @Override
+            public void onSyncFinished() {
+                mSync = null;
+                jobFinished(params, false);
+            }
+        });
+        mSync.start();
+        // The sync continues on the repository callbacks.
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // The conditions aren't met anymore (e.g. unplugged), retry with the job back off.
+        if (mSync != null)
+            mSync.cancel();
+        return true;
+    }
+}
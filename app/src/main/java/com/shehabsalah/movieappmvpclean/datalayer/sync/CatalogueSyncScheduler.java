@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.sync;
+
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the periodic catalogue sync. The sync runs only on an unmetered network while the
+ * device is charging, so it doesn't use the user data plan or battery, and the schedule survives
+ * reboots.
+ */
+
+public class CatalogueSyncScheduler {
+    private static final int SYNC_JOB_ID = 1001;
+    private static final long SYNC_PERIOD_MILLIS = TimeUnit.HOURS.toMillis(12);
+
+    // Prevent direct instantiation.
+    private CatalogueSyncScheduler() {
+    }
+
+    /**
+     * Schedule the catalogue sync if it isn't already scheduled.
+     *
+     * @param context used to get the job scheduler.
+     */
+    public static void schedule(Context context) {
+        JobScheduler jobScheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (jobScheduler == null)
+            return;
+        for (JobInfo jobInfo : jobScheduler.getAllPendingJobs()) {
+            if (jobInfo.getId() == SYNC_JOB_ID)
+                return;
+        }
+        JobInfo jobInfo = new JobInfo.Builder(SYNC_JOB_ID, new ComponentName(context, CatalogueSyncJobService.class))
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresCharging(true)
+                .setPeriodic(SYNC_PERIOD_MILLIS)
+                .setPersisted(true)
+                .build();
+        jobScheduler.schedule(jobInfo);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.domainlayer;
+
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesDataSource;
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
+import com.shehabsalah.movieappmvpclean.models.Movie;
+
+/**
+ * Get a movie by its id use case, used by the screens that are launched with the movie id only.
+ */
+
+public class GetMovieUseCase {
+
+    private MoviesRepository moviesRepository;
+
+    public GetMovieUseCase(MoviesRepository moviesRepository) {
+        this.moviesRepository = moviesRepository;
+    }
+
+    public void getMovie(final UseCaseCallback.MovieCallBack callBack, int movieId) {
+        moviesRepository.getMovie(new MoviesDataSource.GetMovieCallback() {
+            @Override
+            public void onMovieLoaded(Movie movie) {
+                callBack.onMovieLoaded(movie);
+            }
+
+            @Override
+            public void onMovieNotAvailable() {
+                callBack.onMovieNotAvailable();
+            }
+        }, movieId);
+    }
+}
@@ -17,38 +17,42 @@ package com.shehabsalah.movieappmvpclean.domainlayer;
 
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesDataSource;
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
 import com.shehabsalah.movieappmvpclean.models.response.GeneralResponse;
+import com.shehabsalah.movieappmvpclean.models.response.ReviewsResponse;
 import com.shehabsalah.movieappmvpclean.models.response.TrailersResponse;
 import java.util.ArrayList;
 
 /**
- * Created by shehabsalah on 1/26/18.
- * Trailers use case.
+ * Movie details use case, loads the trailers and reviews of a movie together.
  */
 
-public class TrailersUseCase {
+public class MovieDetailsUseCase {
     private MoviesRepository moviesRepository;
     private UseCaseCallback useCaseCallback;
 
-    public TrailersUseCase(MoviesRepository moviesRepository) {
+    public MovieDetailsUseCase(MoviesRepository moviesRepository) {
         this.moviesRepository = moviesRepository;
     }
 
-    public void loadTrailers(final int movieId, boolean mForceUpdate){
+    public void loadMovieDetails(final int movieId, boolean mForceUpdate){
         if (mForceUpdate)
             moviesRepository.refreshData();
 
-        moviesRepository.getTrailers(new MoviesDataSource.LoadTrailersCallback() {
+        moviesRepository.getMovieDetails(new MoviesDataSource.LoadMovieDetailsCallback() {
             @Override
-            public void onTrailersLoaded(ArrayList<MovieTrailers> trailers) {
+            public void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews) {
                 TrailersResponse trailersResponse = new TrailersResponse(null, null);
                 trailersResponse.setResults(trailers);
+                ReviewsResponse reviewsResponse = new ReviewsResponse(null, null);
+                reviewsResponse.setResults(reviews);
                 useCaseCallback.onSuccess(trailersResponse);
+                useCaseCallback.onSuccess(reviewsResponse);
             }
 
             @Override
-            public void onTrailersNotAvailable() {
+            public void onMovieDetailsNotAvailable() {
                 useCaseCallback.dataNotAvailable();
             }
 
@@ -59,9 +63,7 @@ public class TrailersUseCase {
 
             @Override
             public void onResponse(String TAG, Object response) {
-                moviesRepository.deleteMovieTrailers(movieId);
-                moviesRepository.saveMovieTrailers(((TrailersResponse) response).getResults(), movieId);
-                useCaseCallback.onSuccess(response);
+                // The repository delivers the saved response by onMovieDetailsLoaded.
             }
 
             @Override
@@ -72,7 +74,7 @@ public class TrailersUseCase {
     }
 
     /**
-     * This method used to set the trailers use case call back.
+     * This method used to set the movie details use case call back.
      *
      * @param useCaseCallback interface used to notify back with result.
      * */
@@ -39,6 +39,15 @@ public class MoviesUseCase {
         this.moviesRepository = moviesRepository;
     }
 
+    /**
+     * Load a movies list. Loading the most popular movies also loads the top rated movies in
+     * parallel with the same freshness, without showing them. Each list is saved on its own, so
+     * the refresh ends when the slower of the two calls ends.
+     *
+     * @param filter        movies list type.
+     * @param mForceUpdate  true to load the list from the server.
+     * @param presenterCall true to deliver the loaded movies to the use case callback.
+     */
     public void loadMovies(final MoviesSortType filter, final boolean mForceUpdate, final boolean presenterCall) {
         if (mForceUpdate && filter != MoviesSortType.FAVORITES)
             moviesRepository.refreshData();
@@ -46,30 +55,29 @@ public class MoviesUseCase {
         moviesRepository.getMovies(new MoviesDataSource.LoadMoviesCallback() {
             @Override
             public void noInternetConnection() {
-                useCaseCallback.noInternetConnection();
+                // The list refreshed in the background doesn't report its errors a second time.
+                if (presenterCall)
+                    useCaseCallback.noInternetConnection();
             }
 
             @Override
             public void onResponse(String TAG, Object response) {
-                if (filter == MoviesSortType.MOST_POPULAR) {
-                    moviesRepository.deleteAllMovies();
-                    moviesRepository.saveMostPopularMovies(((MoviesResponse) response).getResults());
-                    loadMovies(filter, false, false);
-                    loadMovies(MoviesSortType.TOP_RATED, true, false);
-                } else if (filter == MoviesSortType.TOP_RATED) {
-                    moviesRepository.saveTopRatedMovies(((MoviesResponse) response).getResults());
-                    if (presenterCall)
-                        loadMovies(filter, false, false);
-                }
+                // The repository already saved the response in the local data source and delivered
+                // the updated movies through onMoviesLoaded, it also joins concurrent calls for the
+                // same list into a single request.
             }
 
             @Override
             public void onErrorResponse(String TAG, GeneralResponse response) {
-                useCaseCallback.onError(response.getMessage());
+                if (presenterCall)
+                    useCaseCallback.onError(response.getMessage());
             }
 
             @Override
             public void onMoviesLoaded(ArrayList<Movie> movies) {
+                // Movies loaded only to refresh the local data source aren't shown.
+                if (!presenterCall)
+                    return;
                 MoviesResponse moviesResponse = new MoviesResponse(null, null);
                 moviesResponse.setResults(movies);
                 useCaseCallback.onSuccess(moviesResponse);
@@ -77,7 +85,53 @@ public class MoviesUseCase {
 
             @Override
             public void onMoviesNotAvailable() {
-                useCaseCallback.dataNotAvailable();
+                if (presenterCall)
+                    useCaseCallback.dataNotAvailable();
+            }
+        }, filter);
+
+        // The top rated list doesn't wait for the most popular response, both calls run together.
+        if (presenterCall && filter == MoviesSortType.MOST_POPULAR)
+            loadMovies(MoviesSortType.TOP_RATED, mForceUpdate, false);
+    }
+
+    /**
+     * Load the next page of the movies list from the server. The whole loaded list is delivered
+     * to the page callback.
+     *
+     * @param filter       movies list type.
+     * @param pageCallBack interface used to notify back with result.
+     */
+    public void loadNextPage(final MoviesSortType filter, final UseCaseCallback.PageCallBack pageCallBack) {
+        if (filter == MoviesSortType.FAVORITES) {
+            pageCallBack.onLastPageLoaded();
+            return;
+        }
+
+        moviesRepository.loadNextMoviesPage(new MoviesDataSource.LoadMoviesCallback() {
+            @Override
+            public void onMoviesLoaded(ArrayList<Movie> movies) {
+                pageCallBack.onPageLoaded(movies);
+            }
+
+            @Override
+            public void onMoviesNotAvailable() {
+                pageCallBack.onLastPageLoaded();
+            }
+
+            @Override
+            public void noInternetConnection() {
+                pageCallBack.onPageError();
+            }
+
+            @Override
+            public void onResponse(String TAG, Object response) {
+                // The loaded page is delivered through onMoviesLoaded.
+            }
+
+            @Override
+            public void onErrorResponse(String TAG, GeneralResponse response) {
+                pageCallBack.onPageError();
             }
         }, filter);
     }
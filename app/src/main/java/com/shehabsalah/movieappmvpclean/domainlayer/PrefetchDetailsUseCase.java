@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.domainlayer;
+
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesDataSource;
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+import com.shehabsalah.movieappmvpclean.models.response.GeneralResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Prefetch details use case, warms the repository cache with the trailers and reviews of the
+ * movies the user is likely to open, so their details screen opens from the cache. At most
+ * {@link #MAX_CONCURRENT_REQUESTS} movies are loaded at the same time, the rest wait in a queue
+ * that can be replaced or cancelled while the user scrolls.
+ * <p>
+ * The use case is called and notified on the main thread.
+ */
+
+public class PrefetchDetailsUseCase {
+    static final int MAX_CONCURRENT_REQUESTS = 2;
+
+    private MoviesRepository moviesRepository;
+    private final LinkedList<Integer> queuedMovies = new LinkedList<>();
+    private final HashSet<Integer> loadingMovies = new HashSet<>();
+    // Movies already prefetched, they aren't requested again while the use case lives.
+    private final HashSet<Integer> prefetchedMovies = new HashSet<>();
+
+    public PrefetchDetailsUseCase(MoviesRepository moviesRepository) {
+        this.moviesRepository = moviesRepository;
+    }
+
+    /**
+     * Replace the queued movies with the given movies, in the given order.
+     *
+     * @param movieIds ids of the movies to prefetch, e.g. the visible movies.
+     */
+    public void prefetchDetails(List<Integer> movieIds) {
+        queuedMovies.clear();
+        for (Integer movieId : movieIds)
+            enqueue(movieId, false);
+        startNext();
+    }
+
+    /**
+     * Prefetch the movie before the queued movies, used when the user is about to open it.
+     *
+     * @param movieId id of the movie to prefetch.
+     */
+    public void prefetchDetailsNow(int movieId) {
+        enqueue(movieId, true);
+        startNext();
+    }
+
+    /**
+     * Drop the queued movies, the movies already loading are completed and saved.
+     */
+    public void cancel() {
+        queuedMovies.clear();
+    }
+
+    private void enqueue(Integer movieId, boolean first) {
+        if (prefetchedMovies.contains(movieId) || loadingMovies.contains(movieId))
+            return;
+        queuedMovies.remove(movieId);
+        if (first)
+            queuedMovies.addFirst(movieId);
+        else
+            queuedMovies.addLast(movieId);
+    }
+
+    private void startNext() {
+        while (moviesRepository != null && loadingMovies.size() < MAX_CONCURRENT_REQUESTS
+                && !queuedMovies.isEmpty()) {
+            load(queuedMovies.removeFirst());
+        }
+    }
+
+    private void load(final Integer movieId) {
+        loadingMovies.add(movieId);
+        moviesRepository.getMovieDetails(new MoviesDataSource.LoadMovieDetailsCallback() {
+            @Override
+            public void onMovieDetailsLoaded(ArrayList<MovieTrailers> trailers, ArrayList<MovieReviews> reviews) {
+                onLoaded(movieId, true);
+            }
+
+            @Override
+            public void onMovieDetailsNotAvailable() {
+                onLoaded(movieId, true);
+            }
+
+            @Override
+            public void noInternetConnection() {
+                // Nothing is prefetched without a connection, the queued movies are dropped.
+                queuedMovies.clear();
+                onLoaded(movieId, false);
+            }
+
+            @Override
+            public void onResponse(String TAG, Object response) {
+                // The repository delivers the saved response by onMovieDetailsLoaded.
+            }
+
+            @Override
+            public void onErrorResponse(String TAG, GeneralResponse response) {
+                onLoaded(movieId, false);
+            }
+        }, movieId);
+    }
+
+    private void onLoaded(Integer movieId, boolean prefetched) {
+        loadingMovies.remove(movieId);
+        if (prefetched)
+            prefetchedMovies.add(movieId);
+        startNext();
+    }
+
+    /**
+     * Stop prefetching, nothing new is requested after this call.
+     */
+    public void onDestroy() {
+        cancel();
+        moviesRepository = null;
+    }
+}
@@ -17,6 +17,8 @@ package com.shehabsalah.movieappmvpclean.domainlayer;
 
 import com.shehabsalah.movieappmvpclean.models.Movie;
 
+import java.util.ArrayList;
+
 /**
  * Created by shehabsalah on 1/26/18.
  * Use cases are the entry points to the domain layer.
@@ -26,6 +28,15 @@ public interface UseCaseCallback {
     interface FavoriteCallBack{
         void onFavoriteResponse(Movie movie);
     }
+    interface MovieCallBack{
+        void onMovieLoaded(Movie movie);
+        void onMovieNotAvailable();
+    }
+    interface PageCallBack{
+        void onPageLoaded(ArrayList<Movie> movies);
+        void onLastPageLoaded();
+        void onPageError();
+    }
     void onSuccess(Object response);
     void noInternetConnection();
     void dataNotAvailable();
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.models;
+
+import android.arch.persistence.room.ColumnInfo;
+import android.arch.persistence.room.Entity;
+import android.arch.persistence.room.Index;
+import android.support.annotation.NonNull;
+
+/**
+ * Model class for the membership of a movie in a movies list: the position of the movie in the
+ * server order of the list and when it was fetched. A movie can be a member of several lists,
+ * while it's saved once in the movies table.
+ */
+
+@Entity(tableName = "list_membership",
+        primaryKeys = {"list_type", "movie_id"},
+        indices = {@Index(value = {"list_type", "rank"})})
+public class ListMembership {
+
+    @NonNull
+    @ColumnInfo(name = "list_type")
+    private String listType;
+
+    @ColumnInfo(name = "movie_id")
+    private int movieId;
+
+    @ColumnInfo(name = "rank")
+    private int rank;
+
+    @ColumnInfo(name = "fetched_at")
+    private long fetchedAt;
+
+    public ListMembership(@NonNull String listType, int movieId, int rank, long fetchedAt) {
+        this.listType = listType;
+        this.movieId = movieId;
+        this.rank = rank;
+        this.fetchedAt = fetchedAt;
+    }
+
+    @NonNull
+    public String getListType() {
+        return listType;
+    }
+
+    public void setListType(@NonNull String listType) {
+        this.listType = listType;
+    }
+
+    public int getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(int movieId) {
+        this.movieId = movieId;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
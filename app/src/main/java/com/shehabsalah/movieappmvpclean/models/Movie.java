@@ -26,11 +26,14 @@ import android.support.annotation.Nullable;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Created by ShehabSalah on 1/8/18.
  * Immutable model class for a Movie.
  */
-@Entity(tableName = "movies", indices = {@Index(value = {"movie_id"}, unique = true)})
+@Entity(tableName = "movies", indices = {@Index(value = {"movie_id"}, unique = true), @Index(value = {"favorite"})})
 public class Movie implements Parcelable {
 
     @PrimaryKey(autoGenerate = true)
@@ -91,9 +94,13 @@ public class Movie implements Parcelable {
     @ColumnInfo(name = "favorite")
     private int favorite;
 
+    // The list the movie was last saved with, the lists of the movie are in the list_membership table.
     @ColumnInfo(name = "movie_type")
     private String type;
 
+    // Version of the parcel encoding, increase it when the written fields change.
+    private static final byte PARCEL_VERSION = 1;
+
 
     public Movie(int dbId, int movieId, @Nullable String posterPath, @Nullable String overview, @Nullable String releaseDate,
                  @Nullable String originalTitle, @Nullable String originalLanguage, @Nullable String title,
@@ -116,22 +123,23 @@ public class Movie implements Parcelable {
     }
 
     Movie(Parcel in){
-        String[] data = new String[14];
-        in.readStringArray(data);
-        this.dbId                   = Integer.parseInt(data[0]);
-        this.movieId                = Integer.parseInt(data[1]);
-        this.posterPath             = data[2];
-        this.overview               = data[3];
-        this.releaseDate            = data[4];
-        this.originalTitle          = data[5];
-        this.originalLanguage       = data[6];
-        this.title                  = data[7];
-        this.backdropPath           = data[8];
-        this.popularity             = Float.parseFloat(data[9]);
-        this.voteCount              = Integer.parseInt(data[10]);
-        this.voteAverage            = Float.parseFloat(data[11]);
-        this.favorite               = Integer.parseInt(data[12]);
-        this.type                   = data[13];
+        byte version = in.readByte();
+        if (version != PARCEL_VERSION)
+            throw new IllegalArgumentException("Unknown Movie parcel version " + version);
+        this.dbId                   = in.readInt();
+        this.movieId                = in.readInt();
+        this.posterPath             = in.readString();
+        this.overview               = in.readString();
+        this.releaseDate            = in.readString();
+        this.originalTitle          = in.readString();
+        this.originalLanguage       = in.readString();
+        this.title                  = in.readString();
+        this.backdropPath           = in.readString();
+        this.popularity             = in.readFloat();
+        this.voteCount              = in.readInt();
+        this.voteAverage            = in.readFloat();
+        this.favorite               = in.readInt();
+        this.type                   = in.readString();
     }
 
     @Override
@@ -139,24 +147,27 @@ public class Movie implements Parcelable {
         return 0;
     }
 
+    /**
+     * Write the fields with their own types, the strings are written by {@link Parcel#writeString}
+     * that marks the null values. The first byte is the encoding version.
+     */
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeStringArray(new String[] {
-                String.valueOf(this.dbId),
-                String.valueOf(this.movieId),
-                this.posterPath,
-                this.overview,
-                this.releaseDate,
-                this.originalTitle,
-                this.originalLanguage,
-                this.title,
-                this.backdropPath,
-                String.valueOf(this.popularity),
-                String.valueOf(voteCount),
-                String.valueOf(voteAverage),
-                String.valueOf(favorite),
-                this.type
-        });
+        dest.writeByte(PARCEL_VERSION);
+        dest.writeInt(this.dbId);
+        dest.writeInt(this.movieId);
+        dest.writeString(this.posterPath);
+        dest.writeString(this.overview);
+        dest.writeString(this.releaseDate);
+        dest.writeString(this.originalTitle);
+        dest.writeString(this.originalLanguage);
+        dest.writeString(this.title);
+        dest.writeString(this.backdropPath);
+        dest.writeFloat(this.popularity);
+        dest.writeInt(this.voteCount);
+        dest.writeFloat(this.voteAverage);
+        dest.writeInt(this.favorite);
+        dest.writeString(this.type);
     }
     public static final Parcelable.Creator CREATOR = new Parcelable.Creator() {
         public Movie createFromParcel(Parcel in) {
@@ -167,6 +178,44 @@ public class Movie implements Parcelable {
         }
     };
 
+    /**
+     * Check if the other movie shows the same information of this movie.
+     *
+     * @param other movie to compare with.
+     * @return true if both movies have the same id and displayed data.
+     */
+    public boolean hasSameContent(Movie other) {
+        return other != null
+                && movieId == other.movieId
+                && favorite == other.favorite
+                && voteCount == other.voteCount
+                && Float.compare(voteAverage, other.voteAverage) == 0
+                && Objects.equals(title, other.title)
+                && Objects.equals(posterPath, other.posterPath)
+                && Objects.equals(backdropPath, other.backdropPath)
+                && Objects.equals(releaseDate, other.releaseDate)
+                && Objects.equals(overview, other.overview);
+    }
+
+    /**
+     * Check if two movies lists show the same movies in the same order.
+     *
+     * @param first  movies list, may be null.
+     * @param second movies list, may be null.
+     * @return true if both lists have the same movies with the same content.
+     */
+    public static boolean hasSameContent(@Nullable List<Movie> first, @Nullable List<Movie> second) {
+        if (first == second)
+            return true;
+        if (first == null || second == null || first.size() != second.size())
+            return false;
+        for (int i = 0; i < first.size(); i++) {
+            if (!first.get(i).hasSameContent(second.get(i)))
+                return false;
+        }
+        return true;
+    }
+
     public int getDbId() {
         return dbId;
     }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.models;
+
+import android.arch.persistence.room.ColumnInfo;
+import android.arch.persistence.room.Entity;
+import android.arch.persistence.room.PrimaryKey;
+import android.support.annotation.NonNull;
+
+import com.shehabsalah.movieappmvpclean.util.Constants;
+
+/**
+ * Model class for the paging state of a movies list: the last page saved in the movies table and
+ * the number of pages the server has for the list.
+ */
+
+@Entity(tableName = "movie_pages")
+public class MoviesPage {
+
+    @NonNull
+    @PrimaryKey
+    @ColumnInfo(name = "list_type")
+    private String listType;
+
+    @ColumnInfo(name = "page")
+    private int page;
+
+    @ColumnInfo(name = "total_pages")
+    private int totalPages;
+
+    public MoviesPage(@NonNull String listType, int page, int totalPages) {
+        this.listType = listType;
+        this.page = page;
+        this.totalPages = totalPages;
+    }
+
+    /**
+     * @return true if the server has more pages after the saved page, the API serves up to
+     * {@link Constants#LAST_PAGE} pages.
+     */
+    public boolean hasNextPage() {
+        return page < Math.min(totalPages, Constants.LAST_PAGE);
+    }
+
+    @NonNull
+    public String getListType() {
+        return listType;
+    }
+
+    public void setListType(@NonNull String listType) {
+        this.listType = listType;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.models.response;
+
+import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
+
+import java.util.ArrayList;
+
+/**
+ * The trailers and reviews of a movie, received in a single movie details response.
+ */
+
+public class MovieDetailsResponse extends GeneralResponse {
+
+    private TrailersResponse videos;
+    private ReviewsResponse reviews;
+
+    public MovieDetailsResponse(String result, String message) {
+        super(result, message);
+    }
+
+    /**
+     * @return the trailers of the movie, empty if the response has no trailers.
+     */
+    public ArrayList<MovieTrailers> getTrailers() {
+        if (videos == null || videos.getResults() == null)
+            return new ArrayList<>(0);
+        return videos.getResults();
+    }
+
+    /**
+     * @return the reviews of the movie, empty if the response has no reviews.
+     */
+    public ArrayList<MovieReviews> getReviews() {
+        if (reviews == null || reviews.getResults() == null)
+            return new ArrayList<>(0);
+        return reviews.getResults();
+    }
+
+    public void setVideos(TrailersResponse videos) {
+        this.videos = videos;
+    }
+
+    public void setReviews(ReviewsResponse reviews) {
+        this.reviews = reviews;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.shehabsalah.movieappmvpclean.models.response;
 
+import com.google.gson.annotations.SerializedName;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 
 import java.util.ArrayList;
@@ -25,12 +26,45 @@ import java.util.ArrayList;
 
 public class MoviesResponse extends GeneralResponse{
 
+    @SerializedName("page")
+    private int page;
+
+    @SerializedName("total_pages")
+    private int totalPages;
+
+    @SerializedName("total_results")
+    private int totalResults;
+
     private ArrayList<Movie> results;
 
     public MoviesResponse(String result, String message) {
         super(result, message);
     }
 
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    public void setTotalResults(int totalResults) {
+        this.totalResults = totalResults;
+    }
+
     public ArrayList<Movie> getResults() {
         return results;
     }
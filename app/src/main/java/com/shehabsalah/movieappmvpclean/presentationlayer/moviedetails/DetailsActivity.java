@@ -22,14 +22,20 @@ import android.os.Bundle;
 import android.view.MenuItem;
 
 import com.shehabsalah.movieappmvpclean.R;
-import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.util.ActivityUtils;
 import com.shehabsalah.movieappmvpclean.util.Constants;
 
 public class DetailsActivity extends AppCompatActivity {
 
-    public static Intent getDetailsIntent(Context context, Movie movie) {
-        return new Intent(context, DetailsActivity.class).putExtra(Constants.MOVIE_EXTRA, movie);
+    /**
+     * Only the movie id crosses the process boundary, the screen gets the movie from the repository.
+     *
+     * @param context the launching context.
+     * @param movieId id of the movie to show.
+     * @return Intent to start the details screen.
+     */
+    public static Intent getDetailsIntent(Context context, int movieId) {
+        return new Intent(context, DetailsActivity.class).putExtra(Constants.MOVIE_ID_EXTRA, movieId);
     }
 
     @Override
@@ -38,14 +44,11 @@ public class DetailsActivity extends AppCompatActivity {
         // set an exit transition
         getWindow().setAllowEnterTransitionOverlap(true);
         setContentView(R.layout.activity_details);
-        if (getIntent().hasExtra(Constants.MOVIE_EXTRA)) {
-            Movie movie = getIntent().getParcelableExtra(Constants.MOVIE_EXTRA);
-            setTitle(movie.getTitle());
-        }
         if (savedInstanceState == null) {
             Bundle args = new Bundle();
             Bundle extras = getIntent().getExtras();
-            args.putParcelable(Constants.MOVIE_EXTRA, getIntent().getParcelableExtra(Constants.MOVIE_EXTRA));
+            if (getIntent().hasExtra(Constants.MOVIE_ID_EXTRA))
+                args.putInt(Constants.MOVIE_ID_EXTRA, getIntent().getIntExtra(Constants.MOVIE_ID_EXTRA, 0));
             if (getIntent().hasExtra(Constants.KEY_CONNECTION_IMAGE) && extras != null)
                 args.putString(Constants.KEY_CONNECTION_IMAGE, extras.getString(Constants.KEY_CONNECTION_IMAGE));
             DetailsFragment detailsFragment = DetailsFragment.newInstance();
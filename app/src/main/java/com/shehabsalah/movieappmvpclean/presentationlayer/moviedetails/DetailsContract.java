@@ -33,9 +33,12 @@ public interface DetailsContract {
         void showReviews(ArrayList<MovieReviews> reviews);
         void hideReviews();
         void favoriteResponse(Movie movie);
+        void showMovie(Movie movie);
+        void movieNotAvailable();
     }
 
     interface presenter{
+        void loadMovie(int movieId);
         void loadMovieInformation(int movieId);
         void onTrailerClicked(String key);
         void onFavoriteClick(Movie movie);
@@ -30,15 +30,16 @@ import android.widget.TextView;
 import com.shehabsalah.movieappmvpclean.R;
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
 import com.shehabsalah.movieappmvpclean.domainlayer.AddToFavoriteUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.GetMovieUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.MovieDetailsUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.RemoveFromFavoriteUseCase;
-import com.shehabsalah.movieappmvpclean.domainlayer.ReviewsUseCase;
-import com.shehabsalah.movieappmvpclean.domainlayer.TrailersUseCase;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
 import com.shehabsalah.movieappmvpclean.presentationlayer.moviedetails.adapters.ReviewsAdapter;
 import com.shehabsalah.movieappmvpclean.presentationlayer.moviedetails.adapters.TrailersAdapter;
 import com.shehabsalah.movieappmvpclean.util.Constants;
+import com.shehabsalah.movieappmvpclean.util.ImageUrlResolver;
 import com.shehabsalah.movieappmvpclean.util.PicassoHandler;
 import com.squareup.picasso.Callback;
 import java.util.ArrayList;
@@ -79,6 +80,9 @@ public class DetailsFragment extends Fragment implements DetailsContract.view {
 
     private DetailsContract.presenter mPresenter;
     private Movie movie;
+    private String image;
+    private TrailersAdapter trailersAdapter;
+    private ReviewsAdapter reviewsAdapter;
 
 
     public static DetailsFragment newInstance() {
@@ -91,28 +95,27 @@ public class DetailsFragment extends Fragment implements DetailsContract.view {
         View mainView = inflater.inflate(R.layout.details_layout, container, false);
         ButterKnife.bind(this, mainView);
         mPresenter = new DetailsPresenter(this, getActivity(),
-                new TrailersUseCase(MoviesRepository.getInstance()),
-                new ReviewsUseCase(MoviesRepository.getInstance()),
+                new GetMovieUseCase(MoviesRepository.getInstance()),
+                new MovieDetailsUseCase(MoviesRepository.getInstance()),
                 new AddToFavoriteUseCase(MoviesRepository.getInstance()),
                 new RemoveFromFavoriteUseCase(MoviesRepository.getInstance())
         );
         Bundle extras = getArguments();
-        if (extras != null && extras.containsKey(Constants.MOVIE_EXTRA)) {
-            movie = extras.getParcelable(Constants.MOVIE_EXTRA);
-            String image = null;
+        if (extras != null && extras.containsKey(Constants.MOVIE_ID_EXTRA)) {
             if (extras.containsKey(Constants.KEY_CONNECTION_IMAGE))
                 image = extras.getString(Constants.KEY_CONNECTION_IMAGE);
 
-            initViews(image);
+            mPresenter.loadMovie(extras.getInt(Constants.MOVIE_ID_EXTRA));
         }
 
         return mainView;
     }
 
     private void initViews(String image) {
+        int posterWidth = getResources().getDimensionPixelSize(R.dimen.poster_detail_width);
         if (image != null) {
-            PicassoHandler.getInstance(getActivity()).getPicasso()
-                    .load(image)
+            PicassoHandler.getInstance(getActivity())
+                    .load(image, posterWidth, 0)
                     .placeholder(R.drawable.placeholder_background)
                     .error(R.drawable.placeholder_background)
                     .into(moviePoster, new Callback() {
@@ -129,16 +132,21 @@ public class DetailsFragment extends Fragment implements DetailsContract.view {
                         }
                     });
         } else {
-            PicassoHandler.getInstance(getActivity()).getPicasso()
-                    .load(Constants.IMAGE_URL + movie.getPosterPath())
+            PicassoHandler.getInstance(getActivity())
+                    .load(ImageUrlResolver.getPosterUrl(getActivity(), movie.getPosterPath(), posterWidth, 0),
+                            posterWidth, 0)
                     .placeholder(R.drawable.placeholder_background)
                     .error(R.drawable.placeholder_background)
                     .into(moviePoster);
         }
 
         movieTitle.setText(movie.getTitle());
-        PicassoHandler.getInstance(getActivity()).getPicasso()
-                .load(Constants.BACKDROP_URL + movie.getBackdropPath())
+        int backdropWidth = getResources().getDisplayMetrics().widthPixels;
+        int backdropHeight = getResources().getDimensionPixelSize(R.dimen.backdrop_height);
+        PicassoHandler.getInstance(getActivity())
+                .load(ImageUrlResolver.getBackdropUrl(getActivity(), movie.getBackdropPath(), backdropWidth, backdropHeight),
+                        backdropWidth, backdropHeight)
+                .centerCrop()
                 .placeholder(R.drawable.placeholder_background)
                 .error(R.drawable.placeholder_background)
                 .into(backDropPoster);
@@ -157,9 +165,13 @@ public class DetailsFragment extends Fragment implements DetailsContract.view {
         reviewRecyclerView.setLayoutManager(reviewLayoutManager);
         reviewRecyclerView.addItemDecoration(mDividerItemDecoration);
         reviewRecyclerView.setNestedScrollingEnabled(false);
+        reviewsAdapter = new ReviewsAdapter(new ArrayList<MovieReviews>(0));
+        reviewRecyclerView.setAdapter(reviewsAdapter);
 
         LinearLayoutManager trailerLayoutManager = new LinearLayoutManager(getActivity(), LinearLayoutManager.HORIZONTAL, false);
         trailerRecyclerView.setLayoutManager(trailerLayoutManager);
+        trailersAdapter = new TrailersAdapter(new ArrayList<MovieTrailers>(0), getActivity(), mPresenter);
+        trailerRecyclerView.setAdapter(trailersAdapter);
 
 
         mPresenter.loadMovieInformation(movie.getMovieId());
@@ -169,9 +181,26 @@ public class DetailsFragment extends Fragment implements DetailsContract.view {
 
     }
 
+    @Override
+    public void showMovie(Movie movie) {
+        // The movie may be loaded after the fragment is detached.
+        if (!isAdded())
+            return;
+        this.movie = movie;
+        getActivity().setTitle(movie.getTitle());
+        initViews(image);
+    }
+
+    @Override
+    public void movieNotAvailable() {
+        if (getActivity() != null)
+            getActivity().finish();
+    }
+
     @OnClick(R.id.favorite)
     public void onFavoriteClicked() {
-        mPresenter.onFavoriteClick(movie);
+        if (movie != null)
+            mPresenter.onFavoriteClick(movie);
     }
 
     @Override
@@ -190,14 +219,12 @@ public class DetailsFragment extends Fragment implements DetailsContract.view {
 
     @Override
     public void showTrailers(ArrayList<MovieTrailers> movieTrailers) {
-        TrailersAdapter trailersAdapter = new TrailersAdapter(movieTrailers, getActivity(), mPresenter);
-        trailerRecyclerView.setAdapter(trailersAdapter);
+        trailersAdapter.replaceData(movieTrailers);
     }
 
     @Override
     public void showReviews(ArrayList<MovieReviews> reviews) {
-        ReviewsAdapter reviewsAdapter = new ReviewsAdapter(reviews);
-        reviewRecyclerView.setAdapter(reviewsAdapter);
+        reviewsAdapter.replaceData(reviews);
     }
 
     @Override
@@ -21,10 +21,10 @@ import android.content.Intent;
 import android.net.Uri;
 
 import com.shehabsalah.movieappmvpclean.domainlayer.AddToFavoriteUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.GetMovieUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.MovieDetailsUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.MoviesUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.RemoveFromFavoriteUseCase;
-import com.shehabsalah.movieappmvpclean.domainlayer.ReviewsUseCase;
-import com.shehabsalah.movieappmvpclean.domainlayer.TrailersUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.UseCaseCallback;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
@@ -41,32 +41,47 @@ import java.util.ArrayList;
  * UI as required.
  */
 
-public class DetailsPresenter implements DetailsContract.presenter, UseCaseCallback, UseCaseCallback.FavoriteCallBack {
+public class DetailsPresenter implements DetailsContract.presenter, UseCaseCallback, UseCaseCallback.FavoriteCallBack,
+        UseCaseCallback.MovieCallBack {
 
     private DetailsContract.view view;
-    private TrailersUseCase trailersUseCase;
-    private ReviewsUseCase reviewsUseCase;
+    private GetMovieUseCase getMovieUseCase;
+    private MovieDetailsUseCase movieDetailsUseCase;
     private AddToFavoriteUseCase addToFavoriteUseCase;
     private RemoveFromFavoriteUseCase removeFromFavoriteUseCase;
     private Activity activity;
 
-    public DetailsPresenter(DetailsContract.view view, Activity activity, TrailersUseCase trailersUseCase,
-                            ReviewsUseCase reviewsUseCase, AddToFavoriteUseCase addToFavoriteUseCase,
+    public DetailsPresenter(DetailsContract.view view, Activity activity, GetMovieUseCase getMovieUseCase,
+                            MovieDetailsUseCase movieDetailsUseCase,
+                            AddToFavoriteUseCase addToFavoriteUseCase,
                             RemoveFromFavoriteUseCase removeFromFavoriteUseCase) {
         this.view                       = view;
-        this.trailersUseCase            = trailersUseCase;
-        this.reviewsUseCase             = reviewsUseCase;
+        this.getMovieUseCase            = getMovieUseCase;
+        this.movieDetailsUseCase        = movieDetailsUseCase;
         this.addToFavoriteUseCase       = addToFavoriteUseCase;
         this.removeFromFavoriteUseCase  = removeFromFavoriteUseCase;
         this.activity                   = activity;
     }
 
+    @Override
+    public void loadMovie(int movieId) {
+        getMovieUseCase.getMovie(this, movieId);
+    }
+
+    @Override
+    public void onMovieLoaded(Movie movie) {
+        view.showMovie(movie);
+    }
+
+    @Override
+    public void onMovieNotAvailable() {
+        view.movieNotAvailable();
+    }
+
     @Override
     public void loadMovieInformation(int movieId) {
-        trailersUseCase.setUseCaseCallback(this);
-        reviewsUseCase.setUseCaseCallback(this);
-        trailersUseCase.loadTrailers(movieId, false);
-        reviewsUseCase.loadReviews(movieId, false);
+        movieDetailsUseCase.setUseCaseCallback(this);
+        movieDetailsUseCase.loadMovieDetails(movieId, false);
     }
 
     @Override
@@ -135,8 +150,8 @@ public class DetailsPresenter implements DetailsContract.presenter, UseCaseCallb
 
     @Override
     public void onDestroy() {
-        this.trailersUseCase            = null;
-        this.reviewsUseCase             = null;
+        this.getMovieUseCase            = null;
+        this.movieDetailsUseCase        = null;
         this.addToFavoriteUseCase       = null;
         this.removeFromFavoriteUseCase  = null;
     }
@@ -15,6 +15,7 @@
  */
 package com.shehabsalah.movieappmvpclean.presentationlayer.moviedetails.adapters;
 
+import android.support.annotation.NonNull;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -22,7 +23,9 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import com.shehabsalah.movieappmvpclean.R;
 import com.shehabsalah.movieappmvpclean.models.MovieReviews;
+import com.shehabsalah.movieappmvpclean.util.BackgroundListDiffer;
 import java.util.ArrayList;
+import java.util.Objects;
 import butterknife.BindView;
 import butterknife.ButterKnife;
 
@@ -32,20 +35,37 @@ import butterknife.ButterKnife;
 
 public class ReviewsAdapter extends RecyclerView.Adapter<ReviewsAdapter.MyViewHolder> {
 
-    private ArrayList<MovieReviews> movieReviews;
+    private BackgroundListDiffer<MovieReviews> movieReviews;
 
     public ReviewsAdapter(ArrayList<MovieReviews> movieReviews) {
-        this.movieReviews = movieReviews;
+        this.movieReviews = new BackgroundListDiffer<>(this, new BackgroundListDiffer.ItemCallback<MovieReviews>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull MovieReviews oldItem, @NonNull MovieReviews newItem) {
+                return Objects.equals(oldItem.getReviewId(), newItem.getReviewId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull MovieReviews oldItem, @NonNull MovieReviews newItem) {
+                return Objects.equals(oldItem.getAuthor(), newItem.getAuthor())
+                        && Objects.equals(oldItem.getContent(), newItem.getContent());
+            }
+        });
+        setHasStableIds(true);
+        setList(movieReviews);
     }
 
-    void replaceData(ArrayList<MovieReviews> movieReviews) {
+    /**
+     * Replace the shown reviews, only the changed reviews are bound again.
+     *
+     * @param movieReviews the new reviews list.
+     */
+    public void replaceData(ArrayList<MovieReviews> movieReviews) {
         setList(movieReviews);
-        notifyDataSetChanged();
     }
 
     private void setList(ArrayList<MovieReviews> movieReviews) {
         if (movieReviews != null)
-            this.movieReviews = movieReviews;
+            this.movieReviews.submitList(movieReviews);
     }
 
     class MyViewHolder extends RecyclerView.ViewHolder {
@@ -71,13 +91,18 @@ public class ReviewsAdapter extends RecyclerView.Adapter<ReviewsAdapter.MyViewHo
 
     @Override
     public void onBindViewHolder(MyViewHolder holder, int position) {
-        MovieReviews mReview = movieReviews.get(position);
+        MovieReviews mReview = movieReviews.getList().get(position);
         holder.reviewAuthor.setText(mReview.getAuthor());
         holder.reviewContent.setText(mReview.getContent());
     }
 
+    @Override
+    public long getItemId(int position) {
+        return BackgroundListDiffer.stableId(movieReviews.getList().get(position).getReviewId());
+    }
+
     @Override
     public int getItemCount() {
-        return movieReviews != null ? movieReviews.size() : 0;
+        return movieReviews.getList().size();
     }
 }
@@ -16,6 +16,7 @@
 package com.shehabsalah.movieappmvpclean.presentationlayer.moviedetails.adapters;
 
 import android.content.Context;
+import android.support.annotation.NonNull;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -25,9 +26,12 @@ import android.widget.TextView;
 import com.shehabsalah.movieappmvpclean.R;
 import com.shehabsalah.movieappmvpclean.models.MovieTrailers;
 import com.shehabsalah.movieappmvpclean.presentationlayer.moviedetails.DetailsContract;
-import com.shehabsalah.movieappmvpclean.util.Constants;
-import com.squareup.picasso.Picasso;
+import com.shehabsalah.movieappmvpclean.util.BackgroundListDiffer;
+import com.shehabsalah.movieappmvpclean.util.ImageUrlResolver;
+import com.shehabsalah.movieappmvpclean.util.PicassoHandler;
+import com.squareup.picasso.Callback;
 import java.util.ArrayList;
+import java.util.Objects;
 import butterknife.BindView;
 import butterknife.ButterKnife;
 import butterknife.OnClick;
@@ -37,24 +41,47 @@ import butterknife.OnClick;
  */
 
 public class TrailersAdapter extends RecyclerView.Adapter<TrailersAdapter.MyViewHolder>{
-    private ArrayList<MovieTrailers> movieTrailers;
+    private BackgroundListDiffer<MovieTrailers> movieTrailers;
     private Context mContext;
     private DetailsContract.presenter mPresenter;
+    private int thumbnailWidth;
+    private int thumbnailHeight;
 
     public TrailersAdapter(ArrayList<MovieTrailers> movieTrailers, Context mContext, DetailsContract.presenter mPresenter) {
-        this.movieTrailers = movieTrailers;
         this.mContext = mContext;
         this.mPresenter = mPresenter;
+        this.thumbnailWidth = mContext.getResources().getDimensionPixelSize(R.dimen.trailer_item_width);
+        this.thumbnailHeight = mContext.getResources().getDimensionPixelSize(R.dimen.trailer_item_height);
+        this.movieTrailers = new BackgroundListDiffer<>(this, new BackgroundListDiffer.ItemCallback<MovieTrailers>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull MovieTrailers oldItem, @NonNull MovieTrailers newItem) {
+                return Objects.equals(oldItem.getTrailerId(), newItem.getTrailerId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull MovieTrailers oldItem, @NonNull MovieTrailers newItem) {
+                return Objects.equals(oldItem.getKey(), newItem.getKey())
+                        && Objects.equals(oldItem.getName(), newItem.getName())
+                        && Objects.equals(oldItem.getType(), newItem.getType())
+                        && oldItem.getSize() == newItem.getSize();
+            }
+        });
+        setHasStableIds(true);
+        setList(movieTrailers);
     }
 
-    void replaceData(ArrayList<MovieTrailers> movieTrailers) {
+    /**
+     * Replace the shown trailers, only the changed trailers are bound again.
+     *
+     * @param movieTrailers the new trailers list.
+     */
+    public void replaceData(ArrayList<MovieTrailers> movieTrailers) {
         setList(movieTrailers);
-        notifyDataSetChanged();
     }
 
     private void setList(ArrayList<MovieTrailers> movieTrailers) {
         if (movieTrailers!=null)
-            this.movieTrailers = movieTrailers;
+            this.movieTrailers.submitList(movieTrailers);
     }
 
     class MyViewHolder extends RecyclerView.ViewHolder{
@@ -74,7 +101,7 @@ public class TrailersAdapter extends RecyclerView.Adapter<TrailersAdapter.MyView
 
         @OnClick(R.id.trailer_container)
         public void onTrailerClicked(){
-            mPresenter.onTrailerClicked(movieTrailers.get(getAdapterPosition()).getKey());
+            mPresenter.onTrailerClicked(movieTrailers.getList().get(getAdapterPosition()).getKey());
         }
 
     }
@@ -89,21 +116,50 @@ public class TrailersAdapter extends RecyclerView.Adapter<TrailersAdapter.MyView
 
     @Override
     public void onBindViewHolder(MyViewHolder holder, int position) {
-        MovieTrailers mTrailer = movieTrailers.get(position);
-
-        Picasso.with(mContext)
-                .load(Constants.YOUTUBE_BASE_URL + mTrailer.getKey() + Constants.HIGH_RES_YOUTUBE_IMG)
+        MovieTrailers mTrailer = movieTrailers.getList().get(position);
+
+        final ImageView thumbnail = holder.trailerThumbnail;
+        final String key = mTrailer.getKey();
+        final String thumbnailUrl = ImageUrlResolver.getTrailerThumbnailUrl(mContext, key, thumbnailWidth, thumbnailHeight);
+        final String fallbackUrl = ImageUrlResolver.getTrailerFallbackThumbnailUrl(key);
+        PicassoHandler.getInstance(mContext)
+                .load(thumbnailUrl, thumbnailWidth, thumbnailHeight)
+                .centerCrop()
                 .placeholder(R.drawable.placeholder_background)
-                .error(R.drawable.placeholder_background)
-                .into(holder.trailerThumbnail);
+                .into(thumbnail, new Callback() {
+                    @Override
+                    public void onSuccess() {
+                    }
+
+                    @Override
+                    public void onError() {
+                        // The picked size isn't generated for every video, fall back to the size
+                        // that always exists.
+                        if (fallbackUrl.equals(thumbnailUrl)) {
+                            thumbnail.setImageResource(R.drawable.placeholder_background);
+                            return;
+                        }
+                        PicassoHandler.getInstance(mContext)
+                                .load(fallbackUrl, thumbnailWidth, thumbnailHeight)
+                                .centerCrop()
+                                .placeholder(R.drawable.placeholder_background)
+                                .error(R.drawable.placeholder_background)
+                                .into(thumbnail);
+                    }
+                });
 
         holder.trailerName.setText(mTrailer.getName());
         holder.trailerSize.setText(String.valueOf(mTrailer.getSize()));
         holder.trailerType.setText(mTrailer.getType());
     }
 
+    @Override
+    public long getItemId(int position) {
+        return BackgroundListDiffer.stableId(movieTrailers.getList().get(position).getTrailerId());
+    }
+
     @Override
     public int getItemCount() {
-        return movieTrailers!=null?movieTrailers.size():0;
+        return movieTrailers.getList().size();
     }
 }
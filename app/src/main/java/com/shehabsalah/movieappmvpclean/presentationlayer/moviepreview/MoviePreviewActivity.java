@@ -24,9 +24,11 @@ import android.widget.TextView;
 import com.shehabsalah.movieappmvpclean.R;
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
 import com.shehabsalah.movieappmvpclean.domainlayer.AddToFavoriteUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.GetMovieUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.RemoveFromFavoriteUseCase;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.util.Constants;
+import com.shehabsalah.movieappmvpclean.util.ImageUrlResolver;
 import com.shehabsalah.movieappmvpclean.util.PicassoHandler;
 import com.squareup.picasso.Callback;
 import butterknife.BindView;
@@ -45,8 +47,15 @@ public class MoviePreviewActivity extends AppCompatActivity implements MoviePrev
     MoviePreviewContract.presenter mPresenter;
     Movie movie;
 
-    public static Intent getDetailsIntent(Context context, Movie movie) {
-        return new Intent(context, MoviePreviewActivity.class).putExtra(Constants.MOVIE_EXTRA, movie);
+    /**
+     * Only the movie id crosses the process boundary, the screen gets the movie from the repository.
+     *
+     * @param context the launching context.
+     * @param movieId id of the movie to preview.
+     * @return Intent to start the preview screen.
+     */
+    public static Intent getDetailsIntent(Context context, int movieId) {
+        return new Intent(context, MoviePreviewActivity.class).putExtra(Constants.MOVIE_ID_EXTRA, movieId);
     }
 
     @Override
@@ -57,12 +66,13 @@ public class MoviePreviewActivity extends AppCompatActivity implements MoviePrev
         setContentView(R.layout.activity_movie_preview);
         ButterKnife.bind(this);
         Intent intent = getIntent();
-        if (intent.hasExtra(Constants.MOVIE_EXTRA)) {
+        if (intent.hasExtra(Constants.MOVIE_ID_EXTRA)) {
             mPresenter = new MoviePreviewPresenter(this,
+                    new GetMovieUseCase(MoviesRepository.getInstance()),
                     new AddToFavoriteUseCase(MoviesRepository.getInstance()),
                     new RemoveFromFavoriteUseCase(MoviesRepository.getInstance())
             );
-            initViews(intent);
+            mPresenter.loadMovie(intent.getIntExtra(Constants.MOVIE_ID_EXTRA, 0));
         } else {
             supportFinishAfterTransition();
             onBackPressed();
@@ -71,16 +81,16 @@ public class MoviePreviewActivity extends AppCompatActivity implements MoviePrev
 
     private void initViews(Intent intent) {
         Bundle extras = getIntent().getExtras();
-        movie = intent.getParcelableExtra(Constants.MOVIE_EXTRA);
         description.setText(movie.getOverview());
         if (movie.getFavorite() == Constants.FAVORITE_ACTIVE)
             favoriteText.setText(getString(R.string.remove_favorite));
         else
             favoriteText.setText(getString(R.string.add_favorite));
 
+        int posterHeight = getResources().getDimensionPixelSize(R.dimen.poster_dialog_height);
         if (intent.hasExtra(Constants.KEY_CONNECTION_IMAGE))
-            PicassoHandler.getInstance(this).getPicasso()
-                    .load(extras.getString(Constants.KEY_CONNECTION_IMAGE))
+            PicassoHandler.getInstance(this)
+                    .load(extras.getString(Constants.KEY_CONNECTION_IMAGE), 0, posterHeight)
                     .placeholder(R.drawable.placeholder_background)
                     .error(R.drawable.placeholder_background)
                     .into(poster, new Callback() {
@@ -95,8 +105,9 @@ public class MoviePreviewActivity extends AppCompatActivity implements MoviePrev
                         }
                     });
         else
-            PicassoHandler.getInstance(this).getPicasso()
-                    .load(Constants.IMAGE_URL + movie.getPosterPath())
+            PicassoHandler.getInstance(this)
+                    .load(ImageUrlResolver.getPosterUrl(this, movie.getPosterPath(), 0, posterHeight),
+                            0, posterHeight)
                     .placeholder(R.drawable.placeholder_background)
                     .error(R.drawable.placeholder_background)
                     .into(poster);
@@ -108,6 +119,17 @@ public class MoviePreviewActivity extends AppCompatActivity implements MoviePrev
 
     }
 
+    @Override
+    public void showMovie(Movie movie) {
+        this.movie = movie;
+        initViews(getIntent());
+    }
+
+    @Override
+    public void movieNotAvailable() {
+        close();
+    }
+
     @OnClick(R.id.preview_container)
     public void close() {
         supportFinishAfterTransition();
@@ -121,7 +143,8 @@ public class MoviePreviewActivity extends AppCompatActivity implements MoviePrev
 
     @OnClick(R.id.add_to_favorite)
     public void onFavoriteClicked() {
-        mPresenter.onFavoritePressed(movie);
+        if (movie != null)
+            mPresenter.onFavoritePressed(movie);
     }
 
     @Override
@@ -136,7 +159,8 @@ public class MoviePreviewActivity extends AppCompatActivity implements MoviePrev
 
     @Override
     protected void onDestroy() {
-        mPresenter.onDestroy();
+        if (mPresenter != null)
+            mPresenter.onDestroy();
         mPresenter = null;
         super.onDestroy();
     }
@@ -24,8 +24,11 @@ import com.shehabsalah.movieappmvpclean.models.Movie;
 public interface MoviePreviewContract {
     interface view{
         void onFavoriteResponse(Movie movie);
+        void showMovie(Movie movie);
+        void movieNotAvailable();
     }
     interface presenter{
+        void loadMovie(int movieId);
         void onFavoritePressed(Movie movie);
         void onDestroy();
     }
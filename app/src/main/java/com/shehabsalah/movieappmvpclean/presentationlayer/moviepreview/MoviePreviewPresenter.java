@@ -17,6 +17,7 @@ package com.shehabsalah.movieappmvpclean.presentationlayer.moviepreview;
 
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
 import com.shehabsalah.movieappmvpclean.domainlayer.AddToFavoriteUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.GetMovieUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.MoviesUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.RemoveFromFavoriteUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.UseCaseCallback;
@@ -31,19 +32,40 @@ import com.shehabsalah.movieappmvpclean.util.Constants;
  * UI as required.
  */
 
-public class MoviePreviewPresenter implements MoviePreviewContract.presenter, UseCaseCallback.FavoriteCallBack {
+public class MoviePreviewPresenter implements MoviePreviewContract.presenter, UseCaseCallback.FavoriteCallBack,
+        UseCaseCallback.MovieCallBack {
 
     private MoviePreviewContract.view view;
+    private GetMovieUseCase getMovieUseCase;
     private AddToFavoriteUseCase addToFavoriteUseCase;
     private RemoveFromFavoriteUseCase removeFromFavoriteUseCase;
 
-    MoviePreviewPresenter(MoviePreviewContract.view view, AddToFavoriteUseCase addToFavoriteUseCase,
+    MoviePreviewPresenter(MoviePreviewContract.view view, GetMovieUseCase getMovieUseCase,
+                          AddToFavoriteUseCase addToFavoriteUseCase,
                           RemoveFromFavoriteUseCase removeFromFavoriteUseCase) {
         this.view = view;
+        this.getMovieUseCase = getMovieUseCase;
         this.addToFavoriteUseCase = addToFavoriteUseCase;
         this.removeFromFavoriteUseCase = removeFromFavoriteUseCase;
     }
 
+    @Override
+    public void loadMovie(int movieId) {
+        getMovieUseCase.getMovie(this, movieId);
+    }
+
+    @Override
+    public void onMovieLoaded(Movie movie) {
+        if (view != null)
+            view.showMovie(movie);
+    }
+
+    @Override
+    public void onMovieNotAvailable() {
+        if (view != null)
+            view.movieNotAvailable();
+    }
+
     @Override
     public void onFavoritePressed(Movie movie) {
         if (movie.getFavorite() == Constants.FAVORITE_ACTIVE)
@@ -54,11 +76,15 @@ public class MoviePreviewPresenter implements MoviePreviewContract.presenter, Us
 
     @Override
     public void onFavoriteResponse(Movie movie) {
-        view.onFavoriteResponse(movie);
+        if (view != null)
+            view.onFavoriteResponse(movie);
     }
 
     @Override
     public void onDestroy() {
+        // The use cases may still answer, the answer is dropped once the view is destroyed.
+        view = null;
+        getMovieUseCase = null;
         addToFavoriteUseCase = null;
         removeFromFavoriteUseCase = null;
     }
@@ -19,6 +19,7 @@ import android.app.Activity;
 
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by ShehabSalah on 1/8/18.
@@ -38,10 +39,13 @@ public interface MoviesContract {
     interface Presenter{
         void goToDetailsActivity(Movie movie, android.view.View imageView, android.view.View textView);
         void loadMovies();
+        void loadNextPage();
         void setAdvancedInit(MoviesSortType moviesType, boolean setAdapter, boolean forceUpdate);
         void setBasicInit(boolean setAdapter, boolean forceUpdate);
         void setActivity(Activity activity);
         void openMoviePreview(Movie movie, android.view.View imageView, android.view.View textView, android.view.View cardView);
+        void prefetchDetails(List<Movie> movies);
+        void cancelDetailsPrefetch();
         void onDestroy();
         MoviesSortType getMoviesType();
 
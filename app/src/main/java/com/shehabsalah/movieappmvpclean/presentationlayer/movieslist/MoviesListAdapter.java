@@ -17,6 +17,7 @@
 package com.shehabsalah.movieappmvpclean.presentationlayer.movieslist;
 
 import android.content.Context;
+import android.support.annotation.NonNull;
 import android.support.v7.widget.CardView;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
@@ -26,8 +27,10 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import com.shehabsalah.movieappmvpclean.R;
 import com.shehabsalah.movieappmvpclean.models.Movie;
-import com.shehabsalah.movieappmvpclean.util.Constants;
+import com.shehabsalah.movieappmvpclean.util.BackgroundListDiffer;
+import com.shehabsalah.movieappmvpclean.util.ImageUrlResolver;
 import com.shehabsalah.movieappmvpclean.util.PicassoHandler;
+import com.squareup.picasso.RequestCreator;
 import java.util.ArrayList;
 import butterknife.BindView;
 import butterknife.ButterKnife;
@@ -40,23 +43,52 @@ import butterknife.OnLongClick;
 
 public class MoviesListAdapter extends RecyclerView.Adapter<MoviesListAdapter.MyViewHolder>{
     private Context context;
-    private ArrayList<Movie> movies;
+    private BackgroundListDiffer<Movie> movies;
     private MoviesContract.Presenter presenter;
+    private int posterWidth;
+    private int posterHeight;
 
     MoviesListAdapter(Context context, ArrayList<Movie> movies, MoviesContract.Presenter presenter) {
         this.context = context;
-        this.movies = movies;
         this.presenter = presenter;
+        this.movies = new BackgroundListDiffer<>(this, new BackgroundListDiffer.ItemCallback<Movie>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+                return oldItem.getMovieId() == newItem.getMovieId();
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+                return oldItem.hasSameContent(newItem);
+            }
+        });
+        setHasStableIds(true);
+        setList(movies);
     }
 
+    /**
+     * Replace the shown movies, only the changed movies are bound again.
+     *
+     * @param movies the new movies list.
+     */
     void replaceData(ArrayList<Movie> movies) {
         setList(movies);
-        notifyDataSetChanged();
+    }
+
+    /**
+     * Set the size of the poster cells, used to request posters that fit the cells.
+     *
+     * @param posterWidth  width of a poster cell in pixels.
+     * @param posterHeight height of a poster cell in pixels.
+     */
+    void setPosterSize(int posterWidth, int posterHeight) {
+        this.posterWidth = posterWidth;
+        this.posterHeight = posterHeight;
     }
 
     private void setList(ArrayList<Movie> movies) {
         if (movies!=null)
-            this.movies = movies;
+            this.movies.submitList(movies);
     }
 
     class MyViewHolder extends RecyclerView.ViewHolder {
@@ -74,12 +106,12 @@ public class MoviesListAdapter extends RecyclerView.Adapter<MoviesListAdapter.My
 
         @OnClick(R.id.item_container)
         void onItemClicked() {
-            presenter.goToDetailsActivity(movies.get(getAdapterPosition()), moviePoster, movieTitle);
+            presenter.goToDetailsActivity(movies.getList().get(getAdapterPosition()), moviePoster, movieTitle);
         }
 
         @OnLongClick(R.id.item_container)
         boolean onItemLongClick(){
-            presenter.openMoviePreview(movies.get(getAdapterPosition()), moviePoster, movieTitle, cardView);
+            presenter.openMoviePreview(movies.getList().get(getAdapterPosition()), moviePoster, movieTitle, cardView);
             return true;
         }
     }
@@ -94,17 +126,43 @@ public class MoviesListAdapter extends RecyclerView.Adapter<MoviesListAdapter.My
 
     @Override
     public void onBindViewHolder(MyViewHolder holder, int position) {
-        Movie movie = movies.get(position);
-        PicassoHandler.getInstance(context).getPicasso()
-                .load(Constants.IMAGE_URL + movie.getPosterPath())
+        Movie movie = movies.getList().get(position);
+        loadPoster(movie)
                 .placeholder(R.drawable.placeholder_background)
                 .error(R.drawable.placeholder_background)
                 .into(holder.moviePoster);
         holder.movieTitle.setText(movie.getTitle());
     }
 
+    /**
+     * Create the poster request of a movie. The bound posters and the prefetched posters use the
+     * same request, so a prefetched poster is found in the Picasso cache when its cell binds.
+     *
+     * @param movie to load its poster.
+     * @return RequestCreator of the movie poster.
+     */
+    RequestCreator loadPoster(Movie movie) {
+        return PicassoHandler.getInstance(context)
+                .load(ImageUrlResolver.getPosterUrl(context, movie.getPosterPath(), posterWidth, posterHeight),
+                        posterWidth, posterHeight)
+                .centerCrop();
+    }
+
+    /**
+     * @param position of the movie in the shown list.
+     * @return the movie shown at the position.
+     */
+    Movie getMovie(int position) {
+        return movies.getList().get(position);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return movies.getList().get(position).getMovieId();
+    }
+
     @Override
     public int getItemCount() {
-        return movies!=null?movies.size():0;
+        return movies.getList().size();
     }
 }
@@ -17,7 +17,7 @@ package com.shehabsalah.movieappmvpclean.presentationlayer.movieslist;
 
 import android.content.Context;
 import android.content.res.Configuration;
-import android.graphics.drawable.Drawable;
+import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.os.Vibrator;
 import android.support.annotation.Nullable;
@@ -29,6 +29,7 @@ import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ImageView;
 import android.widget.RelativeLayout;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -36,16 +37,18 @@ import android.widget.Toast;
 import com.shehabsalah.movieappmvpclean.R;
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
 import com.shehabsalah.movieappmvpclean.domainlayer.MoviesUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.PrefetchDetailsUseCase;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.util.ApplicationClass;
+import com.shehabsalah.movieappmvpclean.util.ImageUrlResolver;
 import com.shehabsalah.movieappmvpclean.util.MessageHandler;
+import com.shehabsalah.movieappmvpclean.util.PicassoHandler;
+import com.shehabsalah.movieappmvpclean.util.SnapshotBlur;
 
 import java.util.ArrayList;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
-import eightbitlab.com.blurview.BlurView;
-import eightbitlab.com.blurview.RenderScriptBlur;
 
 /**
  * Created by ShehabSalah on 1/8/18.
@@ -53,6 +56,11 @@ import eightbitlab.com.blurview.RenderScriptBlur;
  */
 
 public class MoviesListFragment extends Fragment implements MoviesContract.View {
+    /**
+     * Number of rows left below the last visible row when the next page starts loading.
+     */
+    private static final int NEXT_PAGE_THRESHOLD_ROWS = 3;
+
     @BindView(R.id.recycler_view)
     RecyclerView recyclerView;
     @BindView(R.id.swipe_to_refresh)
@@ -61,16 +69,18 @@ public class MoviesListFragment extends Fragment implements MoviesContract.View
     RelativeLayout messageContainer;
     @BindView(R.id.error_message)
     TextView errorMessage;
-    @BindView(R.id.layout_container)
-    BlurView blurView;
+    @BindView(R.id.blur_background)
+    ImageView blurBackground;
 
     private MoviesContract.Presenter mPresenter;
     private MoviesListAdapter adapter;
     private boolean savedState = false;
+    private SnapshotBlur snapshotBlur;
 
 
     public MoviesListFragment() {
-        mPresenter = new MoviesPresenter(this, new MoviesUseCase(MoviesRepository.getInstance()));
+        mPresenter = new MoviesPresenter(this, new MoviesUseCase(MoviesRepository.getInstance()),
+                new PrefetchDetailsUseCase(MoviesRepository.getInstance()));
     }
 
     public static MoviesListFragment newInstance() {
@@ -85,13 +95,42 @@ public class MoviesListFragment extends Fragment implements MoviesContract.View
         mPresenter.setActivity(getActivity());
         adapter = new MoviesListAdapter(getActivity(), new ArrayList<Movie>(0), mPresenter);
         initViews();
-        GridLayoutManager gridLayoutManager;
+        final GridLayoutManager gridLayoutManager;
         if (getResources().getConfiguration().orientation == Configuration.ORIENTATION_LANDSCAPE)
             gridLayoutManager = new GridLayoutManager(ApplicationClass.getAppContext(), 3);
         else
             gridLayoutManager = new GridLayoutManager(ApplicationClass.getAppContext(), 2);
 
+        int posterHeight = getResources().getDimensionPixelSize(R.dimen.poster_item_height);
+        adapter.setPosterSize(getResources().getDisplayMetrics().widthPixels / gridLayoutManager.getSpanCount(),
+                posterHeight);
+
         recyclerView.setLayoutManager(gridLayoutManager);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                // Prefetch the details of the movies the list settles on, drop the queued
+                // movies once the user scrolls away.
+                if (mPresenter == null)
+                    return;
+                if (newState == RecyclerView.SCROLL_STATE_IDLE)
+                    prefetchVisibleDetails();
+                else if (newState == RecyclerView.SCROLL_STATE_DRAGGING)
+                    mPresenter.cancelDetailsPrefetch();
+            }
+
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                // The shown posters changed, the cached blur doesn't match them anymore.
+                snapshotBlur.invalidate();
+                // Load the next page when the user scrolls down near the end of the list.
+                if (dy > 0 && mPresenter != null && gridLayoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - NEXT_PAGE_THRESHOLD_ROWS * gridLayoutManager.getSpanCount())
+                    mPresenter.loadNextPage();
+            }
+        });
+        // Warm the cache with the posters ahead of the scroll.
+        recyclerView.addOnScrollListener(new PosterPrefetcher(getActivity(), gridLayoutManager, adapter, posterHeight));
 
         swipeToRefresh.setColorSchemeColors(
                 ContextCompat.getColor(getActivity(), R.color.colorPrimaryDark),
@@ -113,18 +152,21 @@ public class MoviesListFragment extends Fragment implements MoviesContract.View
         return mainView;
     }
 
+    private void prefetchVisibleDetails() {
+        GridLayoutManager layoutManager = (GridLayoutManager) recyclerView.getLayoutManager();
+        int firstVisible = layoutManager.findFirstVisibleItemPosition();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (firstVisible == RecyclerView.NO_POSITION || lastVisible == RecyclerView.NO_POSITION)
+            return;
+        ArrayList<Movie> visibleMovies = new ArrayList<>(lastVisible - firstVisible + 1);
+        for (int position = firstVisible; position <= lastVisible; position++)
+            visibleMovies.add(adapter.getMovie(position));
+        mPresenter.prefetchDetails(visibleMovies);
+    }
+
     private void initViews() {
-        float radius = 10;
-        View decorView = getActivity().getWindow().getDecorView();
-        //Activity's root View. Can also be root View of your layout (preferably)
-        ViewGroup rootView = (ViewGroup) decorView.findViewById(android.R.id.content);
-        //set background, if your root layout doesn't have one
-        Drawable windowBackground = decorView.getBackground();
-        blurView.setVisibility(View.GONE);
-        blurView.setupWith(rootView)
-                .windowBackground(windowBackground)
-                .blurAlgorithm(new RenderScriptBlur(getActivity()))
-                .blurRadius(radius);
+        snapshotBlur = new SnapshotBlur(getActivity());
+        blurBackground.setVisibility(View.GONE);
     }
 
     private void showMessageError() {
@@ -138,9 +180,20 @@ public class MoviesListFragment extends Fragment implements MoviesContract.View
             swipeToRefresh.setRefreshing(false);
         recyclerView.setVisibility(View.VISIBLE);
         messageContainer.setVisibility(View.GONE);
+        snapshotBlur.invalidate();
+        ImageUrlResolver.updateNetworkState(getActivity());
         adapter.replaceData(movies);
-        if (setAdapter)
+        if (setAdapter) {
             recyclerView.setAdapter(adapter);
+            // Prefetch the details of the first shown movies once they are laid out.
+            recyclerView.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (mPresenter != null)
+                        prefetchVisibleDetails();
+                }
+            });
+        }
     }
 
     @Override
@@ -188,7 +241,20 @@ public class MoviesListFragment extends Fragment implements MoviesContract.View
         Vibrator vibrator = (Vibrator) getActivity().getSystemService(Context.VIBRATOR_SERVICE);
         if (vibrator != null)
             vibrator.vibrate(50);
-        blurView.setVisibility(View.VISIBLE);
+        View decorView = getActivity().getWindow().getDecorView();
+        View rootView = decorView.findViewById(android.R.id.content);
+        // The overlay is shown first, a cached blur is delivered inside blur().
+        blurBackground.setImageDrawable(null);
+        blurBackground.setVisibility(View.VISIBLE);
+        // The content is captured once and blurred off the main thread, the blur is shown when
+        // ready and reused until the list changes.
+        snapshotBlur.blur(rootView, decorView.getBackground(), new SnapshotBlur.Callback() {
+            @Override
+            public void onBlurred(Bitmap blurred) {
+                if (blurBackground != null && blurBackground.getVisibility() == View.VISIBLE)
+                    blurBackground.setImageBitmap(blurred);
+            }
+        });
     }
 
     @Override
@@ -200,9 +266,10 @@ public class MoviesListFragment extends Fragment implements MoviesContract.View
     @Override
     public void onResume() {
         super.onResume();
-        if (blurView.getVisibility() == View.VISIBLE || savedState) {
+        if (blurBackground.getVisibility() == View.VISIBLE || savedState) {
             savedState = false;
-            blurView.setVisibility(View.GONE);
+            blurBackground.setVisibility(View.GONE);
+            blurBackground.setImageDrawable(null);
             mPresenter.setBasicInit(false, false);
         }
         mPresenter.loadMovies();
@@ -210,6 +277,9 @@ public class MoviesListFragment extends Fragment implements MoviesContract.View
 
     @Override
     public void onDestroy() {
+        PicassoHandler.getInstance(getActivity()).getPicasso().cancelTag(PosterPrefetcher.PREFETCH_TAG);
+        if (snapshotBlur != null)
+            snapshotBlur.release();
         mPresenter.onDestroy();
         mPresenter = null;
         super.onDestroy();
@@ -19,6 +19,7 @@ package com.shehabsalah.movieappmvpclean.presentationlayer.movieslist;
 import android.app.Activity;
 import android.content.Context;
 import android.os.Build;
+import android.os.SystemClock;
 import android.os.Vibrator;
 import android.support.v4.app.ActivityOptionsCompat;
 import android.support.v4.util.Pair;
@@ -26,6 +27,7 @@ import android.view.View;
 
 import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
 import com.shehabsalah.movieappmvpclean.domainlayer.MoviesUseCase;
+import com.shehabsalah.movieappmvpclean.domainlayer.PrefetchDetailsUseCase;
 import com.shehabsalah.movieappmvpclean.domainlayer.UseCaseCallback;
 import com.shehabsalah.movieappmvpclean.models.Movie;
 import com.shehabsalah.movieappmvpclean.models.response.MoviesResponse;
@@ -33,6 +35,7 @@ import com.shehabsalah.movieappmvpclean.presentationlayer.moviedetails.DetailsAc
 import com.shehabsalah.movieappmvpclean.presentationlayer.moviepreview.MoviePreviewActivity;
 import com.shehabsalah.movieappmvpclean.util.Constants;
 import java.util.ArrayList;
+import java.util.List;
 
 import static android.support.v4.app.ActivityOptionsCompat.*;
 
@@ -43,16 +46,28 @@ import static android.support.v4.app.ActivityOptionsCompat.*;
  */
 
 public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallback {
+    private static final long NEXT_PAGE_MIN_BACK_OFF_MILLIS = 2000;
+    private static final long NEXT_PAGE_MAX_BACK_OFF_MILLIS = 60000;
+
     private MoviesContract.View views;
     private MoviesSortType moviesSortType;
     private MoviesUseCase moviesUseCase;
+    private PrefetchDetailsUseCase prefetchDetailsUseCase;
     private boolean setAdapter = true;
     private boolean forceUpdate;
+    private boolean moviesShown;
+    private boolean pageLoading;
+    private boolean lastPageLoaded;
+    // After a failed page, the next page isn't requested again before this time.
+    private long nextPageRetryTime;
+    private long nextPageBackOff = NEXT_PAGE_MIN_BACK_OFF_MILLIS;
     private Activity activity;
 
-    MoviesPresenter(MoviesContract.View views, MoviesUseCase moviesUseCase) {
+    MoviesPresenter(MoviesContract.View views, MoviesUseCase moviesUseCase,
+                    PrefetchDetailsUseCase prefetchDetailsUseCase) {
         this.views = views;
         this.moviesUseCase = moviesUseCase;
+        this.prefetchDetailsUseCase = prefetchDetailsUseCase;
     }
 
     @Override
@@ -62,9 +77,9 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
                 Pair<View, String> imagePair = Pair.create(imageView, Constants.KEY_CONNECTION_IMAGE);
                 ActivityOptionsCompat options = makeSceneTransitionAnimation(activity,
                          imagePair);
-                activity.startActivity(DetailsActivity.getDetailsIntent(activity, movie), options.toBundle());
+                activity.startActivity(DetailsActivity.getDetailsIntent(activity, movie.getMovieId()), options.toBundle());
             } else {
-                activity.startActivity(DetailsActivity.getDetailsIntent(activity, movie));
+                activity.startActivity(DetailsActivity.getDetailsIntent(activity, movie.getMovieId()));
             }
 
         }
@@ -81,12 +96,58 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
         this.moviesSortType = moviesType;
         this.setAdapter = setAdapter;
         this.forceUpdate = forceUpdate;
+        this.moviesShown = false;
+        this.lastPageLoaded = false;
+        resetNextPageBackOff();
+    }
+
+    @Override
+    public void loadNextPage() {
+        if (pageLoading || lastPageLoaded || !moviesShown || moviesSortType == MoviesSortType.FAVORITES
+                || SystemClock.elapsedRealtime() < nextPageRetryTime)
+            return;
+        pageLoading = true;
+        final MoviesSortType pageSortType = moviesSortType;
+        moviesUseCase.loadNextPage(pageSortType, new UseCaseCallback.PageCallBack() {
+            @Override
+            public void onPageLoaded(ArrayList<Movie> movies) {
+                pageLoading = false;
+                resetNextPageBackOff();
+                // Ignore the page if the user moved to another movies list meanwhile.
+                if (pageSortType == moviesSortType && moviesShown)
+                    views.showMovies(movies, false);
+            }
+
+            @Override
+            public void onLastPageLoaded() {
+                pageLoading = false;
+                if (pageSortType == moviesSortType)
+                    lastPageLoaded = true;
+            }
+
+            @Override
+            public void onPageError() {
+                pageLoading = false;
+                // Don't request the page again on every scroll, wait longer after each failure.
+                nextPageRetryTime = SystemClock.elapsedRealtime() + nextPageBackOff;
+                nextPageBackOff = Math.min(nextPageBackOff * 2, NEXT_PAGE_MAX_BACK_OFF_MILLIS);
+            }
+        });
     }
 
     @Override
     public void setBasicInit(boolean setAdapter, boolean forceUpdate) {
         this.setAdapter = setAdapter;
         this.forceUpdate = forceUpdate;
+        if (forceUpdate) {
+            this.lastPageLoaded = false;
+            resetNextPageBackOff();
+        }
+    }
+
+    private void resetNextPageBackOff() {
+        nextPageRetryTime = 0;
+        nextPageBackOff = NEXT_PAGE_MIN_BACK_OFF_MILLIS;
     }
 
     @Override
@@ -97,6 +158,8 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
     @Override
     public void openMoviePreview(Movie movie, View imageView, View textView, View cardView) {
         if (movie != null) {
+            // The user is likely to open the details of the previewed movie.
+            prefetchDetailsUseCase.prefetchDetailsNow(movie.getMovieId());
             views.makeBackgroundBlur();
 
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
@@ -105,13 +168,26 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
                 Pair<View, String> containerPair = Pair.create(cardView, Constants.KEY_CONNECTION_CONTAINER);
                 ActivityOptionsCompat options = makeSceneTransitionAnimation(activity,
                                 titlePair, imagePair, containerPair);
-                activity.startActivity(MoviePreviewActivity.getDetailsIntent(activity, movie), options.toBundle());
+                activity.startActivity(MoviePreviewActivity.getDetailsIntent(activity, movie.getMovieId()), options.toBundle());
             } else {
-                activity.startActivity(MoviePreviewActivity.getDetailsIntent(activity, movie));
+                activity.startActivity(MoviePreviewActivity.getDetailsIntent(activity, movie.getMovieId()));
             }
         }
     }
 
+    @Override
+    public void prefetchDetails(List<Movie> movies) {
+        ArrayList<Integer> movieIds = new ArrayList<>(movies.size());
+        for (Movie movie : movies)
+            movieIds.add(movie.getMovieId());
+        prefetchDetailsUseCase.prefetchDetails(movieIds);
+    }
+
+    @Override
+    public void cancelDetailsPrefetch() {
+        prefetchDetailsUseCase.cancel();
+    }
+
     @Override
     public void setActivity(Activity activity) {
         this.activity = activity;
@@ -124,7 +200,12 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
             ArrayList<Movie> movies = moviesResponse.getResults();
             if (movies.size() > 0) {
                 views.showMovies(movies, setAdapter);
+                // A refresh may deliver the cached movies then the updated ones, the updated movies
+                // replace the adapter data without resetting the list.
+                setAdapter = false;
+                moviesShown = true;
             } else {
+                moviesShown = false;
                 views.showNoMovies();
             }
         } else {
@@ -134,6 +215,7 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
 
     @Override
     public void dataNotAvailable() {
+        moviesShown = false;
         switch (moviesSortType) {
             case MOST_POPULAR:
             case TOP_RATED:
@@ -148,7 +230,9 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
     @Override
     public void noInternetConnection() {
         views.showNoInternetConnection();
-        dataNotAvailable();
+        // Keep showing the cached movies if they are already delivered.
+        if (!moviesShown)
+            dataNotAvailable();
     }
 
     @Override
@@ -158,6 +242,7 @@ public class MoviesPresenter implements MoviesContract.Presenter, UseCaseCallbac
 
     @Override
     public void onDestroy() {
+        prefetchDetailsUseCase.onDestroy();
         MoviesRepository.destroyInstance();
         moviesUseCase = null;
     }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.presentationlayer.movieslist;
+
+import android.content.Context;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.shehabsalah.movieappmvpclean.datalayer.source.remote.request.NetworkStateChangeReceiver;
+import com.shehabsalah.movieappmvpclean.util.ImageUrlResolver;
+import com.squareup.picasso.Picasso;
+
+/**
+ * Scroll listener that warms the Picasso cache with the posters of the movies that are about to
+ * be shown, in the scroll direction. The prefetch window is deeper on Wi-Fi than on mobile data,
+ * it's turned off without a connection, and it's doubled while the list is scrolled fast.
+ */
+
+class PosterPrefetcher extends RecyclerView.OnScrollListener {
+    // Prefetched rows ahead of the visible rows.
+    private static final int WIFI_PREFETCH_ROWS = 4;
+    private static final int MOBILE_PREFETCH_ROWS = 1;
+    // Scroll distance per frame, in poster heights, that counts as a fast scroll.
+    private static final float FAST_SCROLL_POSTERS = 0.25f;
+
+    static final String PREFETCH_TAG = "PosterPrefetcher";
+
+    private final Context mContext;
+    private final GridLayoutManager mLayoutManager;
+    private final MoviesListAdapter mAdapter;
+    private final int mFastScrollPx;
+
+    private int mPrefetchRows;
+    // Range of the positions already prefetched for the current list.
+    private int mPrefetchedFrom = RecyclerView.NO_POSITION;
+    private int mPrefetchedUntil = RecyclerView.NO_POSITION;
+    private int mPrefetchedCount;
+
+    /**
+     * @param context       context used to check the network type.
+     * @param layoutManager the layout manager of the movies grid.
+     * @param adapter       the adapter of the movies grid.
+     * @param posterHeight  height in pixels of a poster cell.
+     */
+    PosterPrefetcher(Context context, GridLayoutManager layoutManager, MoviesListAdapter adapter, int posterHeight) {
+        mContext = context.getApplicationContext();
+        mLayoutManager = layoutManager;
+        mAdapter = adapter;
+        mFastScrollPx = Math.max(1, (int) (posterHeight * FAST_SCROLL_POSTERS));
+        updatePrefetchDepth();
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        // The network type is checked once per gesture, not on every scrolled frame.
+        if (newState == RecyclerView.SCROLL_STATE_DRAGGING)
+            updatePrefetchDepth();
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0 || mPrefetchRows == 0)
+            return;
+
+        int itemCount = mAdapter.getItemCount();
+        if (itemCount != mPrefetchedCount) {
+            // The list changed, the prefetched range isn't valid anymore.
+            mPrefetchedCount = itemCount;
+            mPrefetchedFrom = RecyclerView.NO_POSITION;
+            mPrefetchedUntil = RecyclerView.NO_POSITION;
+        }
+
+        int rows = Math.abs(dy) >= mFastScrollPx ? mPrefetchRows * 2 : mPrefetchRows;
+        int depth = rows * mLayoutManager.getSpanCount();
+        if (dy > 0) {
+            int lastVisible = mLayoutManager.findLastVisibleItemPosition();
+            if (lastVisible == RecyclerView.NO_POSITION)
+                return;
+            int from = Math.max(lastVisible + 1, mPrefetchedUntil + 1);
+            int until = Math.min(itemCount - 1, lastVisible + depth);
+            for (int position = from; position <= until; position++)
+                prefetch(position);
+            mPrefetchedUntil = Math.max(mPrefetchedUntil, until);
+        } else {
+            int firstVisible = mLayoutManager.findFirstVisibleItemPosition();
+            if (firstVisible == RecyclerView.NO_POSITION)
+                return;
+            int from = mPrefetchedFrom == RecyclerView.NO_POSITION
+                    ? firstVisible - 1 : Math.min(firstVisible - 1, mPrefetchedFrom - 1);
+            int until = Math.max(0, firstVisible - depth);
+            for (int position = from; position >= until; position--)
+                prefetch(position);
+            if (mPrefetchedFrom == RecyclerView.NO_POSITION || until < mPrefetchedFrom)
+                mPrefetchedFrom = until;
+        }
+    }
+
+    private void prefetch(int position) {
+        mAdapter.loadPoster(mAdapter.getMovie(position))
+                .priority(Picasso.Priority.LOW)
+                .tag(PREFETCH_TAG)
+                .fetch();
+    }
+
+    private void updatePrefetchDepth() {
+        ImageUrlResolver.updateNetworkState(mContext);
+        if (NetworkStateChangeReceiver.isOpenWifi(mContext))
+            mPrefetchRows = WIFI_PREFETCH_ROWS;
+        else if (NetworkStateChangeReceiver.isOpenMobileData(mContext))
+            mPrefetchRows = MOBILE_PREFETCH_ROWS;
+        else
+            mPrefetchRows = 0;
+    }
+}
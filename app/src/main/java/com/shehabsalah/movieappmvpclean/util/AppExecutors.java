@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Global executor pools for the whole application.
+ * <p>
+ * Grouping tasks like this avoids the effects of task starvation (e.g. disk reads don't wait behind
+ * webservice requests). The disk IO executor runs on a single thread, so the database writes are
+ * applied in the order they are requested and a read always sees the writes requested before it.
+ */
+
+public class AppExecutors {
+    private static final int NETWORK_THREAD_COUNT = 4;
+
+    private static volatile AppExecutors INSTANCE;
+
+    private final Executor diskIO;
+    private final ExecutorService networkIO;
+    private final Executor computation;
+    private final Executor mainThread;
+
+    // Prevent direct instantiation.
+    private AppExecutors() {
+        diskIO = Executors.newSingleThreadExecutor();
+        networkIO = Executors.newFixedThreadPool(NETWORK_THREAD_COUNT);
+        computation = Executors.newSingleThreadExecutor();
+        mainThread = new MainThreadExecutor();
+    }
+
+    public static AppExecutors getInstance() {
+        if (INSTANCE == null) {
+            synchronized (AppExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AppExecutors();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return the executor that runs the database work.
+     */
+    public Executor diskIO() {
+        return diskIO;
+    }
+
+    /**
+     * @return the executor that runs the network calls.
+     */
+    public ExecutorService networkIO() {
+        return networkIO;
+    }
+
+    /**
+     * @return the executor that runs the CPU work of the UI, like the lists diffing.
+     */
+    public Executor computation() {
+        return computation;
+    }
+
+    /**
+     * @return the executor that posts the results back on the main thread.
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mainThreadHandler.post(command);
+        }
+    }
+}
@@ -18,6 +18,9 @@ package com.shehabsalah.movieappmvpclean.util;
 import android.app.Application;
 import android.content.Context;
 
+import com.shehabsalah.movieappmvpclean.datalayer.MoviesRepository;
+import com.shehabsalah.movieappmvpclean.datalayer.sync.CatalogueSyncScheduler;
+
 
 public class ApplicationClass extends Application {
 
@@ -26,6 +29,14 @@ public class ApplicationClass extends Application {
     public void onCreate() {
         super.onCreate();
         ApplicationClass.context = getApplicationContext();
+        CatalogueSyncScheduler.schedule(this);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        MoviesRepository.trimMemory(level);
+        PicassoHandler.logCacheStats(level);
     }
 
     public static Context getAppContext() {
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the list of a {@link RecyclerView.Adapter} and updates it by computing the difference
+ * between the shown list and the new one on the {@link AppExecutors#computation()} thread. Only the
+ * changed positions are dispatched to the adapter, so the unchanged rows aren't bound again.
+ *
+ * @param <T> type of the list items.
+ */
+
+public class BackgroundListDiffer<T> {
+
+    /**
+     * Tells the differ how the items of the list are compared.
+     */
+    public interface ItemCallback<T> {
+        boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem);
+        boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem);
+    }
+
+    // FNV-1a 64 bit hash constants, used to build stable ids from string keys.
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final RecyclerView.Adapter mAdapter;
+    private final ItemCallback<T> mItemCallback;
+    private List<T> mList = Collections.emptyList();
+    // Increased on each submit, so a diff finished after a newer submit is dropped.
+    private int mGeneration;
+
+    public BackgroundListDiffer(RecyclerView.Adapter adapter, ItemCallback<T> itemCallback) {
+        mAdapter = adapter;
+        mItemCallback = itemCallback;
+    }
+
+    /**
+     * @return the list currently shown by the adapter.
+     */
+    @NonNull
+    public List<T> getList() {
+        return mList;
+    }
+
+    /**
+     * Replace the shown list. Must be called on the main thread, and the submitted list must not
+     * be modified after it's submitted.
+     *
+     * @param newList the new list to show.
+     */
+    public void submitList(@Nullable final List<T> newList) {
+        final int generation = ++mGeneration;
+        if (newList == mList)
+            return;
+
+        if (newList == null || newList.isEmpty()) {
+            int removed = mList.size();
+            mList = Collections.emptyList();
+            mAdapter.notifyItemRangeRemoved(0, removed);
+            return;
+        }
+
+        if (mList.isEmpty()) {
+            mList = newList;
+            mAdapter.notifyItemRangeInserted(0, newList.size());
+            return;
+        }
+
+        final List<T> oldList = mList;
+        final AppExecutors appExecutors = AppExecutors.getInstance();
+        appExecutors.computation().execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                    @Override
+                    public int getOldListSize() {
+                        return oldList.size();
+                    }
+
+                    @Override
+                    public int getNewListSize() {
+                        return newList.size();
+                    }
+
+                    @Override
+                    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                        return mItemCallback.areItemsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                        return mItemCallback.areContentsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+                    }
+                });
+
+                appExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mGeneration)
+                            return;
+                        mList = newList;
+                        result.dispatchUpdatesTo(mAdapter);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Build a stable item id from a string key, like the trailer and review ids of the API.
+     *
+     * @param key the unique key of the item.
+     * @return 64 bit hash of the key.
+     */
+    public static long stableId(@Nullable String key) {
+        long hash = FNV_OFFSET_BASIS;
+        if (key != null)
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= FNV_PRIME;
+            }
+        return hash;
+    }
+}
@@ -30,23 +30,32 @@ public class Constants {
 
     //LINKS
     public static final String BASE_URL                 = "http://api.themoviedb.org/3/movie/";
-    public static final String IMAGE_URL                = "http://image.tmdb.org/t/p/w342";
-    public static final String BACKDROP_URL             = "http://image.tmdb.org/t/p/w780";
     public static final String YOUTUBE_BASE_URL         = "http://img.youtube.com/vi/";
-    public static final String HIGH_RES_YOUTUBE_IMG     = "/maxresdefault.jpg";
     public static final String FILE_SEPARATOR           = "/";
 
     //PARAMS
     public static final String PARAM_API_KEY            = "api_key";
+    public static final String PARAM_PAGE               = "page";
+    public static final String PARAM_MOVIE_ID           = "movie_id";
+    public static final String PARAM_APPEND_TO_RESPONSE = "append_to_response";
+
+    //HEADERS
+    public static final String HEADER_CACHE_CONTROL     = "Cache-Control";
 
     //PAGES
     public static final String PAGE_POPULAR             = "popular";
     public static final String PAGE_TOP_RATED           = "top_rated";
     public static final String PAGE_REVIEWS             = "reviews";
     public static final String PAGE_TRAILERS            = "videos";
+    public static final String PAGE_DETAILS             = "details";
+    public static final String PAGE_MOVIE_DETAILS       = "{" + PARAM_MOVIE_ID + "}";
+    public static final String APPEND_DETAILS           = PAGE_TRAILERS + "," + PAGE_REVIEWS;
+    public static final int FIRST_PAGE                  = 1;
+    // The API rejects the pages after this page, even if the list has more pages.
+    public static final int LAST_PAGE                   = 500;
 
     //EXTRAS
-    public static final String MOVIE_EXTRA              = "movie";
+    public static final String MOVIE_ID_EXTRA           = "movie_id";
 
     //TRANSACTIONS
     public static final String KEY_CONNECTION_TITLE     = "KEY_CONNECTION_NAME";
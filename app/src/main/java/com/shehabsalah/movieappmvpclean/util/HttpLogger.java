@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.util;
+
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.shehabsalah.movieappmvpclean.BuildConfig;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Lightweight OkHttp logging interceptor configured per build type from the {@link BuildConfig}
+ * fields HTTP_LOG_LEVEL, HTTP_LOG_SAMPLE_RATE and HTTP_LOG_MAX_BODY_BYTES.
+ * <p>
+ * Only one of every sample rate calls is logged, the logged body is capped to the max body bytes
+ * and the image bodies are never logged. When the level is {@link Level#NONE} no interceptor is
+ * created at all, so the release builds don't copy any byte or build any log string.
+ */
+
+public class HttpLogger implements Interceptor {
+
+    public enum Level {
+        // No logs.
+        NONE,
+        // Request method and URL, response code and duration.
+        BASIC,
+        // BASIC with the request and response headers.
+        HEADERS,
+        // HEADERS with the response body, up to the max body bytes.
+        BODY
+    }
+
+    private static final String IMAGE_TYPE = "image";
+
+    private final String mTag;
+    private final Level mLevel;
+    private final int mSampleRate;
+    private final long mMaxBodyBytes;
+    private final AtomicInteger mCalls = new AtomicInteger();
+
+    private HttpLogger(String tag, Level level, int sampleRate, long maxBodyBytes) {
+        mTag = tag;
+        mLevel = level;
+        mSampleRate = Math.max(1, sampleRate);
+        mMaxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Create the logger of the current build type.
+     *
+     * @param tag the logcat tag.
+     * @return HttpLogger to add to the OkHttp client, or null if the logs are turned off.
+     */
+    @Nullable
+    public static HttpLogger create(String tag) {
+        Level level = getLevel();
+        if (level == Level.NONE)
+            return null;
+        return new HttpLogger(tag, level, BuildConfig.HTTP_LOG_SAMPLE_RATE, BuildConfig.HTTP_LOG_MAX_BODY_BYTES);
+    }
+
+    /**
+     * @return true if the network calls of the current build type are logged.
+     */
+    public static boolean isEnabled() {
+        return getLevel() != Level.NONE;
+    }
+
+    private static Level getLevel() {
+        return Level.valueOf(BuildConfig.HTTP_LOG_LEVEL);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (mCalls.getAndIncrement() % mSampleRate != 0)
+            return chain.proceed(request);
+
+        Log.d(mTag, "--> " + request.method() + " " + request.url());
+        if (mLevel != Level.BASIC)
+            logHeaders(request.headers());
+
+        long startNs = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            Log.d(mTag, "<-- HTTP FAILED: " + e);
+            throw e;
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+
+        Log.d(mTag, "<-- " + response.code() + " " + response.request().url() + " (" + tookMs + "ms)");
+        if (mLevel != Level.BASIC)
+            logHeaders(response.headers());
+        if (mLevel == Level.BODY)
+            logBody(response);
+        return response;
+    }
+
+    private void logHeaders(Headers headers) {
+        for (int i = 0, count = headers.size(); i < count; i++)
+            Log.d(mTag, headers.name(i) + ": " + headers.value(i));
+    }
+
+    private void logBody(Response response) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null)
+            return;
+        MediaType contentType = body.contentType();
+        if (contentType != null && IMAGE_TYPE.equals(contentType.type())) {
+            Log.d(mTag, "<-- END HTTP (" + body.contentLength() + "-byte image body omitted)");
+            return;
+        }
+        // Only the first bytes of the body are copied, the body itself is left for the caller.
+        ResponseBody peeked = response.peekBody(mMaxBodyBytes);
+        Log.d(mTag, peeked.string());
+        Log.d(mTag, "<-- END HTTP (" + body.contentLength() + "-byte body)");
+    }
+}
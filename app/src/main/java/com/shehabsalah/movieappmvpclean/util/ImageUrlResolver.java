@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.util;
+
+import android.content.Context;
+
+import com.shehabsalah.movieappmvpclean.datalayer.source.remote.request.NetworkStateChangeReceiver;
+
+/**
+ * This class build the TMDB image and YouTube thumbnail links. It picks the smallest size that
+ * covers the view that shows the image, so every screen downloads and decodes only the pixels it
+ * draws. On metered networks the size steps down one tier, the network is checked once per list
+ * load and scroll gesture, see {@link #updateNetworkState(Context)}, not on every built link.
+ */
+
+public class ImageUrlResolver {
+    private static final String IMAGE_BASE_URL = "http://image.tmdb.org/t/p/";
+    private static final String ORIGINAL_SIZE = "original";
+
+    // TMDB poster and backdrop sizes, ordered by width. The last size is the original image.
+    private static final int[] POSTER_WIDTHS = {92, 154, 185, 342, 500, 780};
+    private static final int[] BACKDROP_WIDTHS = {300, 780, 1280};
+
+    // YouTube thumbnails ordered by width, maxresdefault isn't generated for every video.
+    private static final String[] YOUTUBE_THUMBNAILS = {"mqdefault", "hqdefault", "maxresdefault"};
+    private static final int[] YOUTUBE_THUMBNAIL_WIDTHS = {320, 480, 1280};
+    private static final String YOUTUBE_FALLBACK_THUMBNAIL = "hqdefault";
+    private static final String YOUTUBE_THUMBNAIL_EXTENSION = ".jpg";
+    // The carousel thumbnails are small and covered by labels, they stay sharp when upscaled up to
+    // this scale, so a larger thumbnail is downloaded only when it's really needed.
+    private static final float THUMBNAIL_MAX_UPSCALE = 1.5f;
+
+    // Width to height ratios of the images.
+    private static final float POSTER_RATIO = 2f / 3f;
+    private static final float BACKDROP_RATIO = 16f / 9f;
+    private static final float VIDEO_RATIO = 16f / 9f;
+
+    // Read on the main thread and the prefetch threads, null until the network is checked.
+    private static volatile Boolean sMetered;
+
+    private ImageUrlResolver() {
+    }
+
+    /**
+     * Check if the active network is metered, the next links are sized for that network.
+     *
+     * @param context to get the connectivity service.
+     */
+    public static void updateNetworkState(Context context) {
+        sMetered = NetworkStateChangeReceiver.isMetered(context);
+    }
+
+    /**
+     * @param context    used to check the network type.
+     * @param posterPath the poster path of the movie.
+     * @param viewWidth  width of the poster view in pixels, 0 if the width follows the height.
+     * @param viewHeight height of the poster view in pixels, 0 if the height follows the width.
+     * @return poster link with the smallest size that covers the view.
+     */
+    public static String getPosterUrl(Context context, String posterPath, int viewWidth, int viewHeight) {
+        return getImageUrl(context, posterPath, POSTER_WIDTHS,
+                coveredWidth(viewWidth, viewHeight, POSTER_RATIO));
+    }
+
+    /**
+     * @param context      used to check the network type.
+     * @param backdropPath the backdrop path of the movie.
+     * @param viewWidth    width of the backdrop view in pixels, 0 if the width follows the height.
+     * @param viewHeight   height of the backdrop view in pixels, 0 if the height follows the width.
+     * @return backdrop link with the smallest size that covers the view.
+     */
+    public static String getBackdropUrl(Context context, String backdropPath, int viewWidth, int viewHeight) {
+        return getImageUrl(context, backdropPath, BACKDROP_WIDTHS,
+                coveredWidth(viewWidth, viewHeight, BACKDROP_RATIO));
+    }
+
+    /**
+     * @param context    used to check the network type.
+     * @param key        the YouTube key of the trailer.
+     * @param viewWidth  width of the thumbnail view in pixels.
+     * @param viewHeight height of the thumbnail view in pixels.
+     * @return thumbnail link with the smallest size that covers the view.
+     */
+    public static String getTrailerThumbnailUrl(Context context, String key, int viewWidth, int viewHeight) {
+        int width = (int) (coveredWidth(viewWidth, viewHeight, VIDEO_RATIO) / THUMBNAIL_MAX_UPSCALE);
+        int tier = selectTier(context, YOUTUBE_THUMBNAIL_WIDTHS, width);
+        if (tier == YOUTUBE_THUMBNAILS.length)
+            tier--;
+        return getYoutubeThumbnailUrl(key, YOUTUBE_THUMBNAILS[tier]);
+    }
+
+    /**
+     * @param key the YouTube key of the trailer.
+     * @return link of the thumbnail that exists for every video, used when the picked size is missing.
+     */
+    public static String getTrailerFallbackThumbnailUrl(String key) {
+        return getYoutubeThumbnailUrl(key, YOUTUBE_FALLBACK_THUMBNAIL);
+    }
+
+    private static String getYoutubeThumbnailUrl(String key, String thumbnail) {
+        return Constants.YOUTUBE_BASE_URL + key + Constants.FILE_SEPARATOR + thumbnail + YOUTUBE_THUMBNAIL_EXTENSION;
+    }
+
+    /**
+     * An image fills a cropped view only if it's wide enough for the view width and tall enough
+     * for the view height.
+     */
+    private static int coveredWidth(int viewWidth, int viewHeight, float ratio) {
+        return Math.max(viewWidth, (int) Math.ceil(viewHeight * ratio));
+    }
+
+    private static String getImageUrl(Context context, String path, int[] widths, int width) {
+        // widths.length is the original size.
+        int tier = selectTier(context, widths, width);
+        String size = tier == widths.length ? ORIGINAL_SIZE : "w" + widths[tier];
+        return IMAGE_BASE_URL + size + path;
+    }
+
+    /**
+     * @return index of the smallest width that covers the width, widths.length if none covers it.
+     */
+    private static int selectTier(Context context, int[] widths, int width) {
+        int tier = widths.length;
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] >= width) {
+                tier = i;
+                break;
+            }
+        }
+        if (tier > 0 && isMetered(context))
+            tier--;
+        return tier;
+    }
+
+    private static boolean isMetered(Context context) {
+        Boolean metered = sMetered;
+        if (metered == null) {
+            updateNetworkState(context);
+            metered = sMetered;
+        }
+        return metered;
+    }
+}
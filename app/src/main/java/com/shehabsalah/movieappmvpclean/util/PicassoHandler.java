@@ -1,40 +1,213 @@
 package com.shehabsalah.movieappmvpclean.util;
 
+import android.app.ActivityManager;
 import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.StatFs;
+import android.util.Log;
 
 import com.jakewharton.picasso.OkHttp3Downloader;
+import com.squareup.picasso.LruCache;
 import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+import com.squareup.picasso.StatsSnapshot;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.Response;
 
 /**
  * Created by shehabsalah on 1/28/18.
  * This class make the picasso library work with Okhttp3.
+ * The decoded images are kept in a memory cache sized from the app memory class, and the
+ * downloaded images are kept in a separate disk cache, so a scrolled back poster or a reopened
+ * details screen doesn't download the image again.
+ * The images are decoded down to the size of their views in RGB_565, the TMDB and YouTube images
+ * are opaque JPEGs, so each cached bitmap takes only the memory its view draws.
  */
 
 public class PicassoHandler {
+    private static final String TAG = "PicassoHandler";
+    private static final String IMAGE_CACHE_DIR = "image_cache";
+    // Part of the app memory class used by the decoded images.
+    private static final int MEMORY_CACHE_DIVIDER = 6;
+    // Part of the free disk space used by the downloaded images, within the min and max sizes.
+    private static final int DISK_CACHE_DIVIDER = 50;
+    private static final long MIN_DISK_CACHE_SIZE = 10 * 1024 * 1024;
+    private static final long MAX_DISK_CACHE_SIZE = 100 * 1024 * 1024;
+    private static final String TMDB_IMAGE_HOST = "image.tmdb.org";
+    // A TMDB image link never changes its image, so the downloaded images stay fresh.
+    private static final int IMAGE_MAX_AGE_DAYS = 365;
+
     private Picasso picasso;
     private static PicassoHandler instance;
     private OkHttpClient client;
+    private Cache diskCache;
+    private LruCache memoryCache;
 
 
     private PicassoHandler(Context context) {
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        client = new OkHttpClient.Builder().addInterceptor(loggingInterceptor).build();
+        memoryCache = new LruCache(calculateMemoryCacheSize(context));
+        File cacheDir = new File(context.getCacheDir(), IMAGE_CACHE_DIR);
+        diskCache = new Cache(cacheDir, calculateDiskCacheSize(context.getCacheDir()));
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .cache(diskCache)
+                .addNetworkInterceptor(new ImageCachePolicyInterceptor());
+        // The image bodies are never logged, only the calls.
+        HttpLogger httpLogger = HttpLogger.create(TAG);
+        if (httpLogger != null)
+            builder.addInterceptor(httpLogger);
+        client = builder.build();
         picasso = new Picasso.Builder(context)
                 .downloader(new OkHttp3Downloader(client))
+                .memoryCache(memoryCache)
                 .build();
     }
 
     public static PicassoHandler getInstance(Context context) {
         if (instance == null)
-            instance = new PicassoHandler(context);
+            instance = new PicassoHandler(context.getApplicationContext());
         return instance;
     }
 
     public Picasso getPicasso() {
         return picasso;
     }
+
+    /**
+     * Create a request of an image that is decoded down to the size of its view.
+     *
+     * @param url          the image link.
+     * @param targetWidth  width of the view in pixels, 0 if the width follows the height.
+     * @param targetHeight height of the view in pixels, 0 if the height follows the width.
+     * @return RequestCreator of the image.
+     */
+    public RequestCreator load(String url, int targetWidth, int targetHeight) {
+        return applyDecodePolicy(picasso.load(url), targetWidth, targetHeight);
+    }
+
+    /**
+     * Decode the image with a sample size that fits the target bounds, then scale it down to the
+     * target bounds, an image smaller than the bounds isn't scaled up. The opaque images are
+     * decoded in RGB_565 that takes half the memory of ARGB_8888.
+     * Picasso doesn't reuse bitmaps with inBitmap, the smaller decoded bitmaps are reused from the
+     * memory cache instead.
+     *
+     * @param request      the image request.
+     * @param targetWidth  width of the view in pixels, 0 if the width follows the height.
+     * @param targetHeight height of the view in pixels, 0 if the height follows the width.
+     * @return the same request with the decoding policy.
+     */
+    public static RequestCreator applyDecodePolicy(RequestCreator request, int targetWidth, int targetHeight) {
+        if (targetWidth > 0 || targetHeight > 0)
+            request.resize(Math.max(targetWidth, 0), Math.max(targetHeight, 0)).onlyScaleDown();
+        return request.config(Bitmap.Config.RGB_565);
+    }
+
+    /**
+     * Read the hit and miss counts of the image caches since the app started.
+     *
+     * @return CacheStats of the memory and disk image caches.
+     */
+    public CacheStats getCacheStats() {
+        StatsSnapshot snapshot = picasso.getSnapshot();
+        long diskSize;
+        try {
+            diskSize = diskCache.size();
+        } catch (IOException e) {
+            diskSize = -1;
+        }
+        return new CacheStats(snapshot.cacheHits, snapshot.cacheMisses, snapshot.size, snapshot.maxSize,
+                diskCache.hitCount(), diskCache.networkCount(), diskSize, diskCache.maxSize());
+    }
+
+    /**
+     * Log the image cache stats when the system asks the app to trim its memory, only in the build
+     * types that log their network calls, so the hit rates are read from logcat while testing.
+     *
+     * @param level the trim memory level of {@link android.content.ComponentCallbacks2}.
+     */
+    public static void logCacheStats(int level) {
+        if (instance == null || !HttpLogger.isEnabled())
+            return;
+        Log.d(TAG, "onTrimMemory(" + level + ") " + instance.getCacheStats());
+    }
+
+    private static int calculateMemoryCacheSize(Context context) {
+        ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int memoryClass = am != null ? am.getMemoryClass() : 16;
+        return (int) (1024L * 1024L * memoryClass / MEMORY_CACHE_DIVIDER);
+    }
+
+    private static long calculateDiskCacheSize(File dir) {
+        long size = MIN_DISK_CACHE_SIZE;
+        try {
+            StatFs statFs = new StatFs(dir.getAbsolutePath());
+            size = statFs.getAvailableBytes() / DISK_CACHE_DIVIDER;
+        } catch (IllegalArgumentException ignored) {
+        }
+        return Math.max(Math.min(size, MAX_DISK_CACHE_SIZE), MIN_DISK_CACHE_SIZE);
+    }
+
+    /**
+     * Network interceptor that keeps the downloaded TMDB images fresh in the disk cache, so the
+     * cached images are used without checking the server again. The images of other hosts, e.g.
+     * the YouTube thumbnails, keep the cache headers of their server.
+     */
+    private static class ImageCachePolicyInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Response response = chain.proceed(chain.request());
+            if (!response.isSuccessful() || !TMDB_IMAGE_HOST.equals(chain.request().url().host()))
+                return response;
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .header("Cache-Control", new CacheControl.Builder()
+                            .maxAge(IMAGE_MAX_AGE_DAYS, TimeUnit.DAYS).build().toString())
+                    .build();
+        }
+    }
+
+    /**
+     * Hit and miss counts of the memory and disk image caches.
+     * A memory miss is served from the disk cache or the network, a disk network count is an image
+     * downloaded from the server.
+     */
+    public static class CacheStats {
+        public final long memoryHits;
+        public final long memoryMisses;
+        public final int memorySize;
+        public final int memoryMaxSize;
+        public final int diskHits;
+        public final int diskNetworkCount;
+        public final long diskSize;
+        public final long diskMaxSize;
+
+        CacheStats(long memoryHits, long memoryMisses, int memorySize, int memoryMaxSize,
+                   int diskHits, int diskNetworkCount, long diskSize, long diskMaxSize) {
+            this.memoryHits = memoryHits;
+            this.memoryMisses = memoryMisses;
+            this.memorySize = memorySize;
+            this.memoryMaxSize = memoryMaxSize;
+            this.diskHits = diskHits;
+            this.diskNetworkCount = diskNetworkCount;
+            this.diskSize = diskSize;
+            this.diskMaxSize = diskMaxSize;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{memory hits=" + memoryHits + ", misses=" + memoryMisses
+                    + ", size=" + memorySize + "/" + memoryMaxSize
+                    + "; disk hits=" + diskHits + ", network=" + diskNetworkCount
+                    + ", size=" + diskSize + "/" + diskMaxSize + "}";
+        }
+    }
 }
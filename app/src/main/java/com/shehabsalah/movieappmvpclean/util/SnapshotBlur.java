@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.MainThread;
+import android.support.v8.renderscript.Allocation;
+import android.support.v8.renderscript.Element;
+import android.support.v8.renderscript.RenderScript;
+import android.support.v8.renderscript.ScriptIntrinsicBlur;
+import android.view.View;
+
+/**
+ * Blurs a snapshot of a view once, instead of blurring the view content on every frame.
+ * The view is drawn once into a downscaled bitmap on the main thread, the copy is blurred on the
+ * computation executor and the result is cached until {@link #invalidate()} is called, so showing
+ * the blur again while the content didn't change costs nothing.
+ */
+
+public class SnapshotBlur {
+    // The snapshot is drawn at 1/8 of the view size, the blurred bitmap is scaled up to the view.
+    private static final float SCALE_FACTOR = 8f;
+    private static final float BLUR_RADIUS = 10f;
+
+    public interface Callback {
+        void onBlurred(Bitmap blurred);
+    }
+
+    private final Context mContext;
+    private final AppExecutors mAppExecutors;
+    // Created and used on the computation executor only.
+    private RenderScript mRenderScript;
+    private Bitmap mBlurred;
+    private int mGeneration;
+    private boolean mReleased;
+
+    public SnapshotBlur(Context context) {
+        mContext = context.getApplicationContext();
+        mAppExecutors = AppExecutors.getInstance();
+    }
+
+    /**
+     * Blur the view, the cached blur is delivered at once while it's still valid.
+     *
+     * @param view       the view to blur.
+     * @param background drawn behind the view, e.g. the window background, can be null.
+     * @param callback   called on the main thread with the blurred bitmap.
+     */
+    @MainThread
+    public void blur(View view, Drawable background, final Callback callback) {
+        if (mBlurred != null) {
+            callback.onBlurred(mBlurred);
+            return;
+        }
+        final Bitmap snapshot = capture(view, background);
+        if (snapshot == null)
+            return;
+        final int generation = mGeneration;
+        mAppExecutors.computation().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap blurred = blurBitmap(snapshot);
+                mAppExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mReleased)
+                            return;
+                        // A blur of content that changed meanwhile is shown once but not cached.
+                        if (generation == mGeneration)
+                            mBlurred = blurred;
+                        callback.onBlurred(blurred);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Drop the cached blur, called when the blurred content changes.
+     */
+    @MainThread
+    public void invalidate() {
+        mGeneration++;
+        mBlurred = null;
+    }
+
+    /**
+     * Drop the cached blur and free the RenderScript context.
+     */
+    @MainThread
+    public void release() {
+        invalidate();
+        mReleased = true;
+        mAppExecutors.computation().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (mRenderScript != null) {
+                    mRenderScript.destroy();
+                    mRenderScript = null;
+                }
+            }
+        });
+    }
+
+    private Bitmap capture(View view, Drawable background) {
+        int width = (int) Math.ceil(view.getWidth() / SCALE_FACTOR);
+        int height = (int) Math.ceil(view.getHeight() / SCALE_FACTOR);
+        if (width == 0 || height == 0)
+            return null;
+        Bitmap snapshot = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(snapshot);
+        canvas.scale(1f / SCALE_FACTOR, 1f / SCALE_FACTOR);
+        if (background != null)
+            background.draw(canvas);
+        view.draw(canvas);
+        return snapshot;
+    }
+
+    private Bitmap blurBitmap(Bitmap bitmap) {
+        if (mRenderScript == null)
+            mRenderScript = RenderScript.create(mContext);
+        Allocation input = Allocation.createFromBitmap(mRenderScript, bitmap);
+        Allocation output = Allocation.createTyped(mRenderScript, input.getType());
+        ScriptIntrinsicBlur script = ScriptIntrinsicBlur.create(mRenderScript, Element.U8_4(mRenderScript));
+        script.setRadius(BLUR_RADIUS);
+        script.setInput(input);
+        script.forEach(output);
+        output.copyTo(bitmap);
+        input.destroy();
+        output.destroy();
+        script.destroy();
+        return bitmap;
+    }
+}
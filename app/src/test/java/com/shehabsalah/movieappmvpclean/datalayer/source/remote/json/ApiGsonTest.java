@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.Gson;
+import com.shehabsalah.movieappmvpclean.models.Movie;
+import com.shehabsalah.movieappmvpclean.models.response.MovieDetailsResponse;
+import com.shehabsalah.movieappmvpclean.models.response.MoviesResponse;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the streaming type adapters of {@link ApiGson} decode the same movies as the
+ * reflection based Gson, and encode them back.
+ */
+public class ApiGsonTest {
+    static final int MOVIES_PER_PAGE = 20;
+
+    @Test
+    public void streamingAdaptersDecodeLikeReflection() {
+        String json = createMoviesPage();
+        MoviesResponse expected = new Gson().fromJson(json, MoviesResponse.class);
+        MoviesResponse actual = ApiGson.getInstance().fromJson(json, MoviesResponse.class);
+        assertEquals(expected.getPage(), actual.getPage());
+        assertEquals(expected.getTotalPages(), actual.getTotalPages());
+        assertSameMovies(expected, actual);
+    }
+
+    @Test
+    public void moviesPageEncodesAndDecodesBack() {
+        Gson gson = ApiGson.getInstance();
+        MoviesResponse expected = gson.fromJson(createMoviesPage(), MoviesResponse.class);
+        MoviesResponse actual = gson.fromJson(gson.toJson(expected), MoviesResponse.class);
+        assertEquals(expected.getPage(), actual.getPage());
+        assertEquals(expected.getTotalPages(), actual.getTotalPages());
+        assertEquals(expected.getTotalResults(), actual.getTotalResults());
+        assertSameMovies(expected, actual);
+    }
+
+    @Test
+    public void movieDetailsEncodeAndDecodeBack() {
+        String json = "{\"id\":337167,\"title\":\"Movie\",\"videos\":{\"results\":[{\"id\":\"5a\",\"key\":\"abc\","
+                + "\"name\":\"Trailer\",\"site\":\"YouTube\",\"size\":1080,\"type\":\"Trailer\"}]},"
+                + "\"reviews\":{\"page\":1,\"results\":[{\"id\":\"5b\",\"author\":\"author\",\"content\":\"content\"}]}}";
+        Gson gson = ApiGson.getInstance();
+        MovieDetailsResponse expected = gson.fromJson(json, MovieDetailsResponse.class);
+        MovieDetailsResponse actual = gson.fromJson(gson.toJson(expected), MovieDetailsResponse.class);
+        assertEquals(1, actual.getTrailers().size());
+        assertEquals(expected.getTrailers().get(0).getKey(), actual.getTrailers().get(0).getKey());
+        assertEquals(expected.getTrailers().get(0).getSize(), actual.getTrailers().get(0).getSize());
+        assertEquals(1, actual.getReviews().size());
+        assertEquals(expected.getReviews().get(0).getContent(), actual.getReviews().get(0).getContent());
+    }
+
+    private void assertSameMovies(MoviesResponse expected, MoviesResponse actual) {
+        assertEquals(MOVIES_PER_PAGE, actual.getResults().size());
+        for (int i = 0; i < MOVIES_PER_PAGE; i++) {
+            Movie expectedMovie = expected.getResults().get(i);
+            Movie actualMovie = actual.getResults().get(i);
+            assertEquals(expectedMovie.getMovieId(), actualMovie.getMovieId());
+            assertEquals(expectedMovie.getOriginalTitle(), actualMovie.getOriginalTitle());
+            assertEquals(expectedMovie.getOriginalLanguage(), actualMovie.getOriginalLanguage());
+            assertEquals(expectedMovie.getPopularity(), actualMovie.getPopularity(), 0f);
+            assertEquals(expectedMovie.getType(), actualMovie.getType());
+            assertEquals(expectedMovie.getFavorite(), actualMovie.getFavorite());
+            assertTrue(expectedMovie.hasSameContent(actualMovie));
+        }
+    }
+
+    /**
+     * @return a page of {@link #MOVIES_PER_PAGE} movies like the movies lists of the API.
+     */
+    static String createMoviesPage() {
+        StringBuilder json = new StringBuilder("{\"page\":1,\"total_results\":19826,\"total_pages\":992,\"results\":[");
+        for (int i = 0; i < MOVIES_PER_PAGE; i++) {
+            if (i > 0)
+                json.append(',');
+            json.append("{\"vote_count\":").append(1000 + i)
+                    .append(",\"id\":").append(337167 + i)
+                    .append(",\"video\":false")
+                    .append(",\"vote_average\":").append(6.5 + i / 10.0)
+                    .append(",\"title\":\"Movie title ").append(i).append('"')
+                    .append(",\"popularity\":").append(500.25 - i)
+                    .append(",\"poster_path\":\"/poster").append(i).append(".jpg\"")
+                    .append(",\"original_language\":\"en\"")
+                    .append(",\"original_title\":\"Original movie title ").append(i).append('"')
+                    .append(",\"genre_ids\":[18,10749,").append(i).append(']')
+                    .append(",\"backdrop_path\":").append(i % 5 == 0 ? "null" : "\"/backdrop" + i + ".jpg\"")
+                    .append(",\"adult\":false")
+                    .append(",\"overview\":\"Overview of the movie number ").append(i)
+                    .append(", long enough to look like the real overviews of the movies list.\"")
+                    .append(",\"release_date\":\"2018-02-0").append(i % 9 + 1).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2018 Shehab Salah Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.shehabsalah.movieappmvpclean.datalayer.source.remote.json;
+
+import com.google.gson.Gson;
+import com.shehabsalah.movieappmvpclean.models.response.MoviesResponse;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.logging.Logger;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compares the parse time and the allocated bytes of a 20 movies page between the reflection based Gson, used before by
+ * {@code GsonConverterFactory.create()}, and the streaming type adapters of {@link ApiGson}. The
+ * decoded movies are checked by {@link ApiGsonTest}.
+ * <p>
+ * The benchmark is skipped by the unit tests, run it with {@code ./gradlew test -Pbenchmark} and read
+ * the timings in the test log. The allocations are measured only on the JVMs that count the bytes
+ * allocated by a thread, e.g. HotSpot.
+ */
+public class ResponseParsingBenchmark {
+    private static final Logger LOGGER = Logger.getLogger(ResponseParsingBenchmark.class.getSimpleName());
+    private static final int WARM_UP_ITERATIONS = 2000;
+    private static final int ITERATIONS = 10000;
+
+    private interface Parser {
+        MoviesResponse parse(String json);
+    }
+
+    @Test
+    public void reflectionVsStreamingAdapters() {
+        assumeTrue(Boolean.getBoolean("benchmark"));
+
+        final String json = ApiGsonTest.createMoviesPage();
+        final Gson reflectionGson = new Gson();
+        final Gson streamingGson = ApiGson.getInstance();
+
+        measure("reflection", new Parser() {
+            @Override
+            public MoviesResponse parse(String page) {
+                return reflectionGson.fromJson(page, MoviesResponse.class);
+            }
+        }, json);
+        measure("streaming", new Parser() {
+            @Override
+            public MoviesResponse parse(String page) {
+                return streamingGson.fromJson(page, MoviesResponse.class);
+            }
+        }, json);
+    }
+
+    private void measure(String name, Parser parser, String json) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++)
+            parser.parse(json);
+
+        long startBytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            parser.parse(json);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - startBytes;
+
+        String allocations = startBytes < 0 ? "allocations not measured" : (allocated / ITERATIONS) + " bytes/page";
+        LOGGER.info(name + ": " + (elapsed / ITERATIONS / 1000f) + " us/page, " + allocations);
+    }
+
+    /**
+     * @return the bytes allocated by the current thread, or -1 if the JVM doesn't count them.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean))
+            return -1;
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled())
+            return -1;
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}